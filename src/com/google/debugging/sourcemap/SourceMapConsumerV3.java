@@ -31,8 +31,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -45,14 +47,53 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     SourceMappingReversable {
   static final int UNMAPPED = -1;
 
+  // A decoded line is a packed array of entries, ENTRY_SIZE ints per entry,
+  // rather than a list of entry objects.
+  private static final int GENERATED_COLUMN = 0;
+  private static final int SOURCE_FILE_ID = 1;
+  private static final int SOURCE_LINE = 2;
+  private static final int SOURCE_COLUMN = 3;
+  private static final int NAME_ID = 4;
+  private static final int ENTRY_SIZE = 5;
+
+  // Lines are only decoded when they are needed. Large source maps have many
+  // millions of entries, so instead of keeping them all, the "mappings" string
+  // is kept along with, for each line, the offset where the line starts and
+  // the values of the relative fields at that point. This is LINE_INDEX_SIZE
+  // ints per line.
+  private static final int LINE_OFFSET = 0;
+  private static final int LINE_SOURCE_FILE_ID = 1;
+  private static final int LINE_SOURCE_LINE = 2;
+  private static final int LINE_SOURCE_COLUMN = 3;
+  private static final int LINE_NAME_ID = 4;
+  private static final int LINE_INDEX_SIZE = 5;
+
+  // The number of decoded lines kept by getLine.
+  private static final int DECODED_LINE_CACHE_SIZE = 16;
+
   private String[] sources;
   private String[] names;
   private int lineCount;
-  // Slots in the lines list will be null if the line does not have any entries.
-  private ArrayList<ArrayList<Entry>> lines = null;
-  /** originalFile path ==> original line ==> target mappings */
-  private Map<String, Map<Integer, Collection<OriginalMapping>>>
-      reverseSourceMapping;
+  private String mappings;
+  private int[] lineIndex;
+  private int generatedLineCount;
+  // The most recently used decoded lines, as lookups tend to hit the same
+  // few lines.
+  private final Map<Integer, int[]> decodedLines =
+      new LinkedHashMap<Integer, int[]>(DECODED_LINE_CACHE_SIZE, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+          return size() > DECODED_LINE_CACHE_SIZE;
+        }
+      };
+  /**
+   * originalFile path ==> original line ==> packed target line and column
+   * pairs. Each file is only added when it is first queried.
+   */
+  private Map<String, Map<Integer, int[]>> reverseSourceMapping =
+      new HashMap<>();
   private String sourceRoot;
   private Map<String, Object> extensions = new LinkedHashMap<>();
 
@@ -126,12 +167,6 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
       sources = getJavaStringArray(sourceMapRoot.get("sources").getAsJsonArray());
       names = getJavaStringArray(sourceMapRoot.get("names").getAsJsonArray());
 
-      if (lineCount >= 0) {
-        lines = new ArrayList<>(lineCount);
-      } else {
-        lines = new ArrayList<>();
-      }
-
       if (sourceMapRoot.has("sourceRoot")) {
         sourceRoot = sourceMapRoot.get("sourceRoot").getAsString();
       }
@@ -142,7 +177,12 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
         }
       }
 
-      new MappingBuilder(lineMap).build();
+      mappings = lineMap;
+      synchronized (decodedLines) {
+        decodedLines.clear();
+      }
+      reverseSourceMapping.clear();
+      new MappingBuilder().build();
     } catch (JsonParseException ex) {
       throw new SourceMapParseException("JSON parse exception: " + ex);
     }
@@ -189,20 +229,28 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
         JsonObject offset = section.get("offset").getAsJsonObject();
         int line = offset.get("line").getAsInt();
         int column =  offset.get("column").getAsInt();
-        String mapSectionContents;
+        SourceMapConsumerV3 sectionMap = new SourceMapConsumerV3();
         if (section.has("url")) {
           String url = section.get("url").getAsString();
-          mapSectionContents = sectionSupplier.getSourceMap(url);
+          String mapSectionContents = sectionSupplier.getSourceMap(url);
           if (mapSectionContents == null) {
             throw new SourceMapParseException("Unable to retrieve: " + url);
           }
+          sectionMap.parse(mapSectionContents);
         } else if (section.has("map")) {
-          mapSectionContents = section.get("map").toString();
+          // Inline maps are already parsed, don't round trip them through a
+          // string.
+          JsonElement map = section.get("map");
+          if (!map.isJsonObject()) {
+            throw new SourceMapParseException(
+                "Invalid map format: section 'map' must be an object");
+          }
+          sectionMap.parse(map.getAsJsonObject());
         } else {
           throw new SourceMapParseException(
               "Invalid map format: section must have either 'map' or 'url'");
         }
-        generator.mergeMapSection(line, column, mapSectionContents);
+        generator.mergeMapSection(line, column, sectionMap);
       }
 
       StringBuilder sb = new StringBuilder();
@@ -227,29 +275,76 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     lineNumber--;
     column--;
 
-    if (lineNumber < 0 || lineNumber >= lines.size()) {
+    if (lineNumber < 0 || lineNumber >= generatedLineCount) {
       return null;
     }
 
     Preconditions.checkState(lineNumber >= 0);
     Preconditions.checkState(column >= 0);
 
+    return getMapping(
+        lineNumber, column, isEmptyLine(lineNumber) ? null : getLine(lineNumber));
+  }
 
-    // If the line is empty return the previous mapping.
-    if (lines.get(lineNumber) == null) {
-      return getPreviousMapping(lineNumber);
+  /**
+   * Returns the mappings for many generated positions at once, e.g. the frames
+   * of a stack trace. The positions are looked up in line order, so that each
+   * line is decoded only once, and they do not go through the decoded line
+   * cache used by {@link #getMappingForLine}.
+   *
+   * @param lineNumbers The 1-based generated line numbers.
+   * @param columns The 1-based generated columns, one per line number.
+   * @return The mapping of each position, in the order they were given, with
+   *     null where {@link #getMappingForLine} would return null.
+   */
+  public List<OriginalMapping> getMappingsForLines(
+      final int[] lineNumbers, int[] columns) {
+    Preconditions.checkArgument(lineNumbers.length == columns.length,
+        "%s line numbers, %s columns", lineNumbers.length, columns.length);
+    Integer[] order = new Integer[lineNumbers.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer a, Integer b) {
+        return Integer.compare(lineNumbers[a], lineNumbers[b]);
+      }
+    });
+
+    OriginalMapping[] result = new OriginalMapping[order.length];
+    int decodedLine = -1;
+    int[] entries = null;
+    for (int i : order) {
+      // Normalize the line and column numbers to 0.
+      int lineNumber = lineNumbers[i] - 1;
+      int column = columns[i] - 1;
+      if (lineNumber < 0 || lineNumber >= generatedLineCount) {
+        continue;
+      }
+      Preconditions.checkState(column >= 0);
+      if (lineNumber != decodedLine) {
+        decodedLine = lineNumber;
+        entries = new MappingBuilder(lineNumber).decodeLine();
+      }
+      result[i] = getMapping(lineNumber, column, entries);
     }
+    return Arrays.asList(result);
+  }
 
-    ArrayList<Entry> entries = lines.get(lineNumber);
-    // No empty lists.
-    Preconditions.checkState(!entries.isEmpty());
-    if (entries.get(0).getGeneratedColumn() > column) {
+  /**
+   * Returns the mapping for the given 0-based column of a generated line.
+   * @param entries The packed entries of the line, null if it is empty.
+   */
+  private OriginalMapping getMapping(int lineNumber, int column, int[] entries) {
+    // If the line is empty return the previous mapping.
+    if (entries == null || entries[GENERATED_COLUMN] > column) {
       return getPreviousMapping(lineNumber);
     }
 
-    int index = search(entries, column, 0, entries.size() - 1);
+    int index = search(entries, column, 0, entries.length / ENTRY_SIZE - 1);
     Preconditions.checkState(index >= 0, "unexpected:%s", index);
-    return getOriginalMappingForEntry(entries.get(index));
+    return getOriginalMappingForEntry(entries, index * ENTRY_SIZE);
   }
 
   @Override
@@ -264,25 +359,25 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     // parameter.
 
     // Synchronization needs to be handled by callers.
-    if (reverseSourceMapping == null) {
-      createReverseMapping();
-    }
-
-    Map<Integer, Collection<OriginalMapping>> sourceLineToCollectionMap =
+    Map<Integer, int[]> sourceLineToTargets =
         reverseSourceMapping.get(originalFile);
+    if (sourceLineToTargets == null) {
+      sourceLineToTargets = createReverseMapping(originalFile);
+      reverseSourceMapping.put(originalFile, sourceLineToTargets);
+    }
 
-    if (sourceLineToCollectionMap == null) {
+    int[] targets = sourceLineToTargets.get(line);
+    if (targets == null) {
       return Collections.emptyList();
-    } else {
-      Collection<OriginalMapping> mappings =
-          sourceLineToCollectionMap.get(line);
-
-      if (mappings == null) {
-        return Collections.emptyList();
-      } else {
-        return mappings;
-      }
     }
+    List<OriginalMapping> mappings = new ArrayList<>(targets.length / 2);
+    for (int i = 0; i < targets.length; i += 2) {
+      mappings.add(OriginalMapping.newBuilder()
+          .setLineNumber(targets[i])
+          .setColumnPosition(targets[i + 1])
+          .build());
+    }
+    return mappings;
   }
 
   public String getSourceRoot(){
@@ -309,6 +404,32 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     return result;
   }
 
+  /**
+   * Whether the given 0-based generated line has no entries.
+   */
+  private boolean isEmptyLine(int lineNumber) {
+    int offset = lineIndex[lineNumber * LINE_INDEX_SIZE + LINE_OFFSET];
+    return offset == mappings.length() || mappings.charAt(offset) == ';';
+  }
+
+  /**
+   * Returns the packed entries of the given 0-based generated line, or null
+   * if the line is empty.
+   */
+  private int[] getLine(int lineNumber) {
+    int[] entries;
+    synchronized (decodedLines) {
+      entries = decodedLines.get(lineNumber);
+    }
+    if (entries == null) {
+      entries = new MappingBuilder(lineNumber).decodeLine();
+      synchronized (decodedLines) {
+        decodedLines.put(lineNumber, entries);
+      }
+    }
+    return entries;
+  }
+
   private class MappingBuilder {
     private static final int MAX_ENTRY_VALUES = 5;
     private final StringCharIterator content;
@@ -319,33 +440,50 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     private int previousSrcColumn = 0;
     private int previousNameId = 0;
 
-    MappingBuilder(String lineMap) {
-      this.content = new StringCharIterator(lineMap);
+    /** The packed entries of the current line. */
+    private int[] entries = new int[ENTRY_SIZE * 16];
+    private int entriesLength = 0;
+
+    /** The line index being built, LINE_INDEX_SIZE ints per line. */
+    private int[] index;
+
+    /**
+     * Creates a builder that validates all the mappings and indexes their
+     * lines.
+     */
+    MappingBuilder() {
+      this.content = new StringCharIterator(mappings);
+    }
+
+    /**
+     * Creates a builder that decodes a single, already indexed, line.
+     */
+    MappingBuilder(int line) {
+      this.content = new StringCharIterator(mappings);
+      int start = line * LINE_INDEX_SIZE;
+      this.line = line;
+      this.content.current = lineIndex[start + LINE_OFFSET];
+      this.previousSrcId = lineIndex[start + LINE_SOURCE_FILE_ID];
+      this.previousSrcLine = lineIndex[start + LINE_SOURCE_LINE];
+      this.previousSrcColumn = lineIndex[start + LINE_SOURCE_COLUMN];
+      this.previousNameId = lineIndex[start + LINE_NAME_ID];
     }
 
     void build() {
+      index = new int[LINE_INDEX_SIZE * (lineCount >= 0 ? lineCount + 1 : 16)];
+      startLine();
       int [] temp = new int[MAX_ENTRY_VALUES];
-      ArrayList<Entry> entries = new ArrayList<>();
       while (content.hasNext()) {
         // ';' denotes a new line.
         if (tryConsumeToken(';')) {
-          // The line is complete, store the result
-          completeLine(entries);
-          if (!entries.isEmpty()) {
-            // A new array list for the next line.
-            entries = new ArrayList<>();
-          }
+          // The line is complete, start the next one.
+          completeLine();
         } else {
-          // grab the next entry for the current line.
-          int entryValues = 0;
-          while (!entryComplete()) {
-            temp[entryValues] = nextValue();
-            entryValues++;
-          }
-          Entry entry = decodeEntry(temp, entryValues);
-
-          validateEntry(entry);
-          entries.add(entry);
+          // Validate the next entry for the current line, it is decoded again
+          // when the line is needed.
+          readEntry(temp);
+          validateEntry(entriesLength - ENTRY_SIZE);
+          entriesLength = 0;
 
           // Consume the separating token, if there is one.
           tryConsumeToken(',');
@@ -353,101 +491,151 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
       }
 
       // Some source map generator (e.g.UglifyJS) generates lines without
-      // a trailing line separator. So add the rest of the content.
-      if (!entries.isEmpty()) {
-        completeLine(entries);
+      // a trailing line separator, so the last line only exists if it has
+      // content.
+      if (index[line * LINE_INDEX_SIZE + LINE_OFFSET] == content.length) {
+        line--;
       }
+      generatedLineCount = line + 1;
+      lineIndex = Arrays.copyOf(index, generatedLineCount * LINE_INDEX_SIZE);
     }
 
-    private void completeLine(ArrayList<Entry> entries) {
-      // The line is complete, store the result for the line,
-      // null if the line is empty.
-      if (!entries.isEmpty()) {
-        lines.add(entries);
-      } else {
-        lines.add(null);
+    /**
+     * Decodes the entries of the line this builder was created for.
+     * @return the packed entries, null if the line is empty.
+     */
+    int[] decodeLine() {
+      int [] temp = new int[MAX_ENTRY_VALUES];
+      while (content.hasNext() && content.peek() != ';') {
+        readEntry(temp);
+        // Consume the separating token, if there is one.
+        tryConsumeToken(',');
       }
+      return entriesLength > 0 ? Arrays.copyOf(entries, entriesLength) : null;
+    }
+
+    /**
+     * Decodes only the last entry of the line this builder was created for,
+     * which must not be empty.
+     */
+    int[] decodeLastEntry() {
+      int [] temp = new int[MAX_ENTRY_VALUES];
+      while (content.hasNext() && content.peek() != ';') {
+        entriesLength = 0;
+        readEntry(temp);
+        // Consume the separating token, if there is one.
+        tryConsumeToken(',');
+      }
+      return Arrays.copyOf(entries, ENTRY_SIZE);
+    }
+
+    /**
+     * Reads the values of the next entry and appends it to the current line.
+     */
+    private void readEntry(int[] temp) {
+      int entryValues = 0;
+      while (!entryComplete()) {
+        temp[entryValues] = nextValue();
+        entryValues++;
+      }
+      decodeEntry(temp, entryValues);
+    }
+
+    private void completeLine() {
       line++;
       previousCol = 0;
+      startLine();
+    }
+
+    /**
+     * Records where the current line starts in the line index.
+     */
+    private void startLine() {
+      int start = line * LINE_INDEX_SIZE;
+      if (start + LINE_INDEX_SIZE > index.length) {
+        index = Arrays.copyOf(index, index.length * 2);
+      }
+      index[start + LINE_OFFSET] = content.current;
+      index[start + LINE_SOURCE_FILE_ID] = previousSrcId;
+      index[start + LINE_SOURCE_LINE] = previousSrcLine;
+      index[start + LINE_SOURCE_COLUMN] = previousSrcColumn;
+      index[start + LINE_NAME_ID] = previousNameId;
     }
 
     /**
      * Sanity check the entry.
      */
-    private void validateEntry(Entry entry) {
+    private void validateEntry(int entry) {
+      int sourceFileId = entries[entry + SOURCE_FILE_ID];
+      int nameId = entries[entry + NAME_ID];
       Preconditions.checkState((lineCount < 0) || (line < lineCount),
           "line=%s, lineCount=%s", line, lineCount);
-      Preconditions.checkState(entry.getSourceFileId() == UNMAPPED
-          || entry.getSourceFileId() < sources.length);
-      Preconditions.checkState(entry.getNameId() == UNMAPPED
-          || entry.getNameId() < names.length);
+      Preconditions.checkState(sourceFileId == UNMAPPED
+          || sourceFileId < sources.length);
+      Preconditions.checkState(nameId == UNMAPPED
+          || nameId < names.length);
     }
 
     /**
      * Decodes the next entry, using the previous encountered values to
-     * decode the relative values.
+     * decode the relative values, and appends it to the current line.
      *
      * @param vals An array of integers that represent values in the entry.
      * @param entryValues The number of entries in the array.
-     * @return The entry object.
      */
-    private Entry decodeEntry(int[] vals, int entryValues) {
-      Entry entry;
+    private void decodeEntry(int[] vals, int entryValues) {
+      // The first values, if present are in the following order:
+      //   0: the starting column in the current line of the generated file
+      //   1: the id of the original source file
+      //   2: the starting line in the original source
+      //   3: the starting column in the original source
+      //   4: the id of the original symbol name
+      // The values are relative to the last encountered value for that field.
+      // Note: the previously column value for the generated file is reset
+      // to '0' when a new line is encountered.  This is done in the
+      // 'completeLine' method.
+      int sourceFileId = UNMAPPED;
+      int sourceLine = UNMAPPED;
+      int sourceColumn = UNMAPPED;
+      int nameId = UNMAPPED;
       switch (entryValues) {
-        // The first values, if present are in the following order:
-        //   0: the starting column in the current line of the generated file
-        //   1: the id of the original source file
-        //   2: the starting line in the original source
-        //   3: the starting column in the original source
-        //   4: the id of the original symbol name
-        // The values are relative to the last encountered value for that field.
-        // Note: the previously column value for the generated file is reset
-        // to '0' when a new line is encountered.  This is done in the 'build'
-        // method.
-
         case 1:
           // An unmapped section of the generated file.
-          entry = new UnmappedEntry(
-              vals[0] + previousCol);
-          // Set the values see for the next entry.
-          previousCol = entry.getGeneratedColumn();
-          return entry;
-
-        case 4:
-          // A mapped section of the generated file.
-          entry = new UnnamedEntry(
-              vals[0] + previousCol,
-              vals[1] + previousSrcId,
-              vals[2] + previousSrcLine,
-              vals[3] + previousSrcColumn);
-          // Set the values see for the next entry.
-          previousCol = entry.getGeneratedColumn();
-          previousSrcId = entry.getSourceFileId();
-          previousSrcLine = entry.getSourceLine();
-          previousSrcColumn = entry.getSourceColumn();
-          return entry;
+          previousCol = vals[0] + previousCol;
+          break;
 
         case 5:
           // A mapped section of the generated file, that has an associated
           // name.
-          entry = new NamedEntry(
-              vals[0] + previousCol,
-              vals[1] + previousSrcId,
-              vals[2] + previousSrcLine,
-              vals[3] + previousSrcColumn,
-              vals[4] + previousNameId);
-          // Set the values see for the next entry.
-          previousCol = entry.getGeneratedColumn();
-          previousSrcId = entry.getSourceFileId();
-          previousSrcLine = entry.getSourceLine();
-          previousSrcColumn = entry.getSourceColumn();
-          previousNameId = entry.getNameId();
-          return entry;
+          previousNameId = vals[4] + previousNameId;
+          nameId = previousNameId;
+          // Fall through.
+
+        case 4:
+          // A mapped section of the generated file.
+          previousCol = vals[0] + previousCol;
+          previousSrcId = vals[1] + previousSrcId;
+          previousSrcLine = vals[2] + previousSrcLine;
+          previousSrcColumn = vals[3] + previousSrcColumn;
+          sourceFileId = previousSrcId;
+          sourceLine = previousSrcLine;
+          sourceColumn = previousSrcColumn;
+          break;
 
         default:
           throw new IllegalStateException(
               "Unexpected number of values for entry:" + entryValues);
       }
+
+      if (entriesLength + ENTRY_SIZE > entries.length) {
+        entries = Arrays.copyOf(entries, entries.length * 2);
+      }
+      entries[entriesLength + GENERATED_COLUMN] = previousCol;
+      entries[entriesLength + SOURCE_FILE_ID] = sourceFileId;
+      entries[entriesLength + SOURCE_LINE] = sourceLine;
+      entries[entriesLength + SOURCE_COLUMN] = sourceColumn;
+      entries[entriesLength + NAME_ID] = nameId;
+      entriesLength += ENTRY_SIZE;
     }
 
     private boolean tryConsumeToken(char token) {
@@ -477,7 +665,7 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
    * Perform a binary search on the array to find a section that covers
    * the target column.
    */
-  private int search(ArrayList<Entry> entries, int target, int start, int end) {
+  private int search(int[] entries, int target, int start, int end) {
     while (true) {
       int mid = ((end - start) / 2) + start;
       int compare = compareEntry(entries, mid, target);
@@ -502,8 +690,8 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
   /**
    * Compare an array entry's column value to the target column value.
    */
-  private int compareEntry(ArrayList<Entry> entries, int entry, int target) {
-    return entries.get(entry).getGeneratedColumn() - target;
+  private int compareEntry(int[] entries, int entry, int target) {
+    return entries[entry * ENTRY_SIZE + GENERATED_COLUMN] - target;
   }
 
   /**
@@ -516,73 +704,101 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
         return null;
       }
       lineNumber--;
-    } while (lines.get(lineNumber) == null);
-    ArrayList<Entry> entries = lines.get(lineNumber);
-    return getOriginalMappingForEntry(entries.get(entries.size() - 1));
+    } while (isEmptyLine(lineNumber));
+    // Only the last entry is needed, so unless the line is already decoded,
+    // don't decode all of it into the cache, where it would push out the
+    // lines that are actually being looked up.
+    int[] entries;
+    synchronized (decodedLines) {
+      entries = decodedLines.get(lineNumber);
+    }
+    if (entries == null) {
+      entries = new MappingBuilder(lineNumber).decodeLastEntry();
+    }
+    return getOriginalMappingForEntry(entries, entries.length - ENTRY_SIZE);
   }
 
   /**
-   * Creates an "OriginalMapping" object for the given entry object.
+   * Creates an "OriginalMapping" object for the entry starting at the given
+   * offset of a packed line.
    */
-  private OriginalMapping getOriginalMappingForEntry(Entry entry) {
-    if (entry.getSourceFileId() == UNMAPPED) {
+  private OriginalMapping getOriginalMappingForEntry(int[] entries, int entry) {
+    if (entries[entry + SOURCE_FILE_ID] == UNMAPPED) {
       return null;
     } else {
       // Adjust the line/column here to be start at 1.
       Builder x = OriginalMapping.newBuilder()
-        .setOriginalFile(sources[entry.getSourceFileId()])
-        .setLineNumber(entry.getSourceLine() + 1)
-        .setColumnPosition(entry.getSourceColumn() + 1);
-      if (entry.getNameId() != UNMAPPED) {
-        x.setIdentifier(names[entry.getNameId()]);
+        .setOriginalFile(sources[entries[entry + SOURCE_FILE_ID]])
+        .setLineNumber(entries[entry + SOURCE_LINE] + 1)
+        .setColumnPosition(entries[entry + SOURCE_COLUMN] + 1);
+      if (entries[entry + NAME_ID] != UNMAPPED) {
+        x.setIdentifier(names[entries[entry + NAME_ID]]);
       }
       return x.build();
     }
   }
 
   /**
-   * Reverse the source map; the created mapping will allow us to quickly go
-   * from a source file and line number to a collection of target
-   * OriginalMappings.
+   * Reverse the source map for a single original file; the created mapping
+   * will allow us to quickly go from a line number of that file to the
+   * generated positions it maps to, as (target line, column) pairs.
    */
-  private void createReverseMapping() {
-    reverseSourceMapping = new HashMap<>();
-
-    for (int targetLine = 0; targetLine < lines.size(); targetLine++) {
-      ArrayList<Entry> entries = lines.get(targetLine);
+  private Map<Integer, int[]> createReverseMapping(String originalFile) {
+    // A file can be listed more than once in "sources".
+    boolean[] isOriginalFile = new boolean[sources.length];
+    boolean isSource = false;
+    for (int i = 0; i < sources.length; i++) {
+      isOriginalFile[i] = sources[i].equals(originalFile);
+      isSource |= isOriginalFile[i];
+    }
+    if (!isSource) {
+      return Collections.emptyMap();
+    }
+
+    // Collect (source line, target line, column) triples, then group them by
+    // source line into arrays of the exact size.
+    int[] found = new int[3 * 16];
+    int foundLength = 0;
+    Map<Integer, Integer> targetCounts = new HashMap<>();
+    for (int targetLine = 0; targetLine < generatedLineCount; targetLine++) {
+      int[] entries = new MappingBuilder(targetLine).decodeLine();
 
       if (entries != null) {
-        for (Entry entry : entries) {
-          if (entry.getSourceFileId() != UNMAPPED
-              && entry.getSourceLine() != UNMAPPED) {
-            String originalFile = sources[entry.getSourceFileId()];
-
-            if (!reverseSourceMapping.containsKey(originalFile)) {
-              reverseSourceMapping.put(originalFile,
-                  new HashMap<Integer, Collection<OriginalMapping>>());
-            }
-
-            Map<Integer, Collection<OriginalMapping>> lineToCollectionMap =
-                reverseSourceMapping.get(originalFile);
-
-            int sourceLine = entry.getSourceLine();
-
-            if (!lineToCollectionMap.containsKey(sourceLine)) {
-              lineToCollectionMap.put(sourceLine,
-                  new ArrayList<OriginalMapping>(1));
+        for (int entry = 0; entry < entries.length; entry += ENTRY_SIZE) {
+          if (entries[entry + SOURCE_FILE_ID] != UNMAPPED
+              && entries[entry + SOURCE_LINE] != UNMAPPED
+              && isOriginalFile[entries[entry + SOURCE_FILE_ID]]) {
+            int sourceLine = entries[entry + SOURCE_LINE];
+            if (foundLength + 3 > found.length) {
+              found = Arrays.copyOf(found, found.length * 2);
             }
-
-            Collection<OriginalMapping> mappings =
-                lineToCollectionMap.get(sourceLine);
-
-            Builder builder = OriginalMapping.newBuilder().setLineNumber(
-                targetLine).setColumnPosition(entry.getGeneratedColumn());
-
-            mappings.add(builder.build());
+            found[foundLength++] = sourceLine;
+            found[foundLength++] = targetLine;
+            found[foundLength++] = entries[entry + GENERATED_COLUMN];
+            Integer count = targetCounts.get(sourceLine);
+            targetCounts.put(sourceLine, count == null ? 1 : count + 1);
           }
         }
       }
     }
+
+    // Fill each array from its end, walking the triples backwards so that
+    // the targets stay in generated order.
+    Map<Integer, int[]> lineToTargets = new HashMap<>();
+    for (int i = foundLength - 3; i >= 0; i -= 3) {
+      int sourceLine = found[i];
+      int remaining = targetCounts.get(sourceLine);
+      int[] targets = lineToTargets.get(sourceLine);
+      if (targets == null) {
+        targets = new int[2 * remaining];
+        lineToTargets.put(sourceLine, targets);
+      }
+      remaining--;
+      targets[2 * remaining] = found[i + 1];
+      targets[2 * remaining + 1] = found[i + 2];
+      targetCounts.put(sourceLine, remaining);
+    }
+    return lineToTargets;
   }
 
   /**
@@ -614,109 +830,6 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     }
   }
 
-  /**
-   * Represents a mapping entry in the source map.
-   */
-  private interface Entry {
-    int getGeneratedColumn();
-    int getSourceFileId();
-    int getSourceLine();
-    int getSourceColumn();
-    int getNameId();
-  }
-
-  /**
-   * This class represents a portion of the generated file, that is not mapped
-   * to a section in the original source.
-   */
-  private static class UnmappedEntry implements Entry {
-    private final int column;
-
-    UnmappedEntry(int column) {
-      this.column = column;
-    }
-
-    @Override
-    public int getGeneratedColumn() {
-      return column;
-    }
-
-    @Override
-    public int getSourceFileId() {
-      return UNMAPPED;
-    }
-
-    @Override
-    public int getSourceLine() {
-      return UNMAPPED;
-    }
-
-    @Override
-    public int getSourceColumn() {
-      return UNMAPPED;
-    }
-
-    @Override
-    public int getNameId() {
-      return UNMAPPED;
-    }
-  }
-
-  /**
-   * This class represents a portion of the generated file, that is mapped
-   * to a section in the original source.
-   */
-  private static class UnnamedEntry extends UnmappedEntry {
-    private final int srcFile;
-    private final int srcLine;
-    private final int srcColumn;
-
-    UnnamedEntry(int column, int srcFile, int srcLine, int srcColumn) {
-      super(column);
-      this.srcFile = srcFile;
-      this.srcLine = srcLine;
-      this.srcColumn = srcColumn;
-    }
-
-    @Override
-    public int getSourceFileId() {
-      return srcFile;
-    }
-
-    @Override
-    public int getSourceLine() {
-      return srcLine;
-    }
-
-    @Override
-    public int getSourceColumn() {
-      return srcColumn;
-    }
-
-    @Override
-    public int getNameId() {
-      return UNMAPPED;
-    }
-  }
-
-  /**
-   * This class represents a portion of the generated file, that is mapped
-   * to a section in the original source, and is associated with a name.
-   */
-  private static class NamedEntry extends UnnamedEntry {
-    private final int name;
-
-    NamedEntry(int column, int srcFile, int srcLine, int srcColumn, int name) {
-      super(column, srcFile, srcLine, srcColumn);
-      this.name = name;
-    }
-
-    @Override
-    public int getNameId() {
-      return name;
-    }
-  }
-
   public static interface EntryVisitor {
     void visit(String sourceName,
                String symbolName,
@@ -732,16 +845,13 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
     FilePosition sourceStartPosition = null;
     FilePosition startPosition = null;
 
-    final int lineCount = lines.size();
-    for (int i = 0; i < lineCount; i++) {
-      ArrayList<Entry> line = lines.get(i);
+    for (int i = 0; i < generatedLineCount; i++) {
+      int[] line = new MappingBuilder(i).decodeLine();
       if (line != null) {
-        final int entryCount = line.size();
-        for (int j = 0; j < entryCount; j++) {
-          Entry entry = line.get(j);
+        for (int entry = 0; entry < line.length; entry += ENTRY_SIZE) {
           if (pending) {
             FilePosition endPosition = new FilePosition(
-                i, entry.getGeneratedColumn());
+                i, line[entry + GENERATED_COLUMN]);
             visitor.visit(
                 sourceName,
                 symbolName,
@@ -751,15 +861,15 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer,
             pending = false;
           }
 
-          if (entry.getSourceFileId() != UNMAPPED) {
+          if (line[entry + SOURCE_FILE_ID] != UNMAPPED) {
             pending = true;
-            sourceName = sources[entry.getSourceFileId()];
-            symbolName = (entry.getNameId() != UNMAPPED)
-                ? names[entry.getNameId()] : null;
+            sourceName = sources[line[entry + SOURCE_FILE_ID]];
+            symbolName = (line[entry + NAME_ID] != UNMAPPED)
+                ? names[line[entry + NAME_ID]] : null;
             sourceStartPosition = new FilePosition(
-                entry.getSourceLine(), entry.getSourceColumn());
+                line[entry + SOURCE_LINE], line[entry + SOURCE_COLUMN]);
             startPosition = new FilePosition(
-                i, entry.getGeneratedColumn());
+                i, line[entry + GENERATED_COLUMN]);
           }
         }
       }
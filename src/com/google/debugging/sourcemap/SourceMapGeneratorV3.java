@@ -284,9 +284,17 @@ public final class SourceMapGeneratorV3 implements SourceMapGenerator {
    */
   public void mergeMapSection(int line, int column, String mapSectionContents)
       throws SourceMapParseException {
-    setStartingPosition(line, column);
     SourceMapConsumerV3 section = new SourceMapConsumerV3();
     section.parse(mapSectionContents);
+    mergeMapSection(line, column, section);
+  }
+
+  /**
+   * Works like {@link #mergeMapSection(int, int, String)} for a map section
+   * that has already been parsed.
+   */
+  void mergeMapSection(int line, int column, SourceMapConsumerV3 section) {
+    setStartingPosition(line, column);
     section.visitMappings(new ConsumerEntryVisitor());
   }
 
@@ -297,6 +297,8 @@ abstract class AbstractCommandLineRunner<A extends Compiler,
     options.devMode = config.jscompDevMode;
     options.setCodingConvention(config.codingConvention);
     options.setSummaryDetailLevel(config.summaryDetailLevel);
+    options.setStreamingErrorMaxRetained(
+        config.streamingErrorMaxRetained);
     options.setTrustedStrings(true);
 
     legacyOutputCharset = options.outputCharset = getLegacyOutputCharset();
@@ -1797,6 +1799,19 @@ abstract class AbstractCommandLineRunner<A extends Compiler,
       return this;
     }
 
+    private int streamingErrorMaxRetained = -1;
+
+    /**
+     * When non-negative, print errors and warnings as soon as they are
+     * reported and keep at most this many errors and warnings in memory.
+     */
+    CommandLineConfig setStreamingErrorMaxRetained(
+        int streamingErrorMaxRetained) {
+      this.streamingErrorMaxRetained =
+          streamingErrorMaxRetained;
+      return this;
+    }
+
     private String outputWrapper = "";
 
     /**
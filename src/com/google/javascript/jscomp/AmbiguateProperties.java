@@ -42,6 +42,7 @@ import java.util.BitSet;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -117,6 +118,14 @@ class AmbiguateProperties implements CompilerPass {
    */
   private Map<JSType, JSTypeBitSet> relatedBitsets = new HashMap<>();
 
+  /**
+   * A map from a property reference's receiver type to the types related to
+   * it, or to null if properties on the type should not be renamed. Keyed by
+   * identity, since the same type instances are seen over and over again.
+   */
+  private final Map<JSType, JSTypeBitSet> receiverTypeBitsets =
+      new IdentityHashMap<>();
+
   /** A set of types that invalidate properties from ambiguation. */
   private final Set<JSType> invalidatingTypes;
 
@@ -576,29 +585,56 @@ class AmbiguateProperties implements CompilerPass {
 
       ++numOccurrences;
 
-      if (newType.isUnionType()) {
-        newType = newType.restrictByNotNullOrUndefined();
-        if (newType.isUnionType()) {
-          for (JSType alt : newType.toMaybeUnionType().getAlternatesWithoutStructuralTyping()) {
-            addNonUnionType(alt);
-          }
-          return;
-        }
+      JSTypeBitSet related = getRelatedTypesForReceiver(newType);
+      if (related == null) {
+        skipAmbiguating = true;
+      } else {
+        relatedTypes.or(related);
       }
-      addNonUnionType(newType);
     }
+  }
 
-    private void addNonUnionType(JSType newType) {
-      if (skipAmbiguating || isInvalidatingType(newType)) {
-        skipAmbiguating = true;
-        return;
-      }
+  /**
+   * Returns the types related to a property reference on the given type, or
+   * null if the reference should prevent the property from being renamed.
+   * The result is computed once per type and shared by all properties.
+   */
+  private JSTypeBitSet getRelatedTypesForReceiver(JSType type) {
+    if (receiverTypeBitsets.containsKey(type)) {
+      return receiverTypeBitsets.get(type);
+    }
 
-      if (!relatedTypes.get(getIntForType(newType))) {
-        computeRelatedTypes(newType);
-        relatedTypes.or(getRelatedTypesOnNonUnion(newType));
+    JSTypeBitSet related = new JSTypeBitSet(intForType.size());
+    JSType restricted = type;
+    if (restricted.isUnionType()) {
+      restricted = restricted.restrictByNotNullOrUndefined();
+    }
+    if (restricted.isUnionType()) {
+      for (JSType alt :
+          restricted.toMaybeUnionType().getAlternatesWithoutStructuralTyping()) {
+        if (!addNonUnionType(alt, related)) {
+          related = null;
+          break;
+        }
       }
+    } else if (!addNonUnionType(restricted, related)) {
+      related = null;
+    }
+    receiverTypeBitsets.put(type, related);
+    return related;
+  }
+
+  /**
+   * Adds the types related to the given non-union type to the given bit set.
+   * @return false if properties on the type should not be renamed.
+   */
+  private boolean addNonUnionType(JSType type, JSTypeBitSet related) {
+    if (isInvalidatingType(type)) {
+      return false;
     }
+    computeRelatedTypes(type);
+    related.or(getRelatedTypesOnNonUnion(type));
+    return true;
   }
 
   // A BitSet that stores type info. Adds pretty-print routines.
@@ -17,6 +17,7 @@
 package com.google.javascript.jscomp;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 
 import java.util.List;
 
@@ -59,7 +60,7 @@ public final class ByPathWarningsGuard extends WarningsGuard {
     Preconditions.checkArgument(paths != null);
     Preconditions.checkArgument(
         level == CheckLevel.OFF || level == CheckLevel.ERROR);
-    this.paths = paths;
+    this.paths = ImmutableList.copyOf(paths);
     this.include = include;
     this.level = level;
     this.priority = level == CheckLevel.ERROR ?
@@ -95,8 +96,8 @@ public final class ByPathWarningsGuard extends WarningsGuard {
     CheckLevel defaultLevel = error.getDefaultLevel();
     if (defaultLevel != CheckLevel.ERROR && errorPath != null) {
       boolean inPath = false;
-      for (String path : paths) {
-        inPath |= errorPath.contains(path);
+      for (int i = 0; i < paths.size() && !inPath; i++) {
+        inPath = errorPath.contains(paths.get(i));
       }
       if (inPath == include) {
         return level;
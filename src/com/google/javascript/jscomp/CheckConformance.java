@@ -84,8 +84,8 @@ public final class CheckConformance extends AbstractPostOrderCallback
 
   @Override
   public void visit(NodeTraversal t, Node n, Node parent) {
-    for (Rule rule : rules) {
-      rule.check(t, n);
+    for (int i = 0; i < rules.size(); i++) {
+      rules.get(i).check(t, n);
     }
   }
 
@@ -50,6 +50,12 @@ public final class CodePrinter {
   private abstract static class MappedCodePrinter extends CodeConsumer {
     private final Deque<Mapping> mappings;
     private final List<Mapping> allMappings;
+    // The mappings with a start or end position on the line
+    // currentLineMappingsIndex. A line cut can only move positions on the
+    // line being cut, so these are the only mappings reportLineCut needs to
+    // visit; scanning allMappings instead is quadratic on large outputs.
+    private final List<Mapping> currentLineMappings;
+    private int currentLineMappingsIndex = -1;
     private final boolean createSrcMap;
     private final SourceMap.DetailLevel sourceMapDetailLevel;
     protected final StringBuilder code = new StringBuilder(1024);
@@ -68,6 +74,7 @@ public final class CodePrinter {
       this.sourceMapDetailLevel = sourceMapDetailLevel;
       this.mappings = createSrcMap ? new ArrayDeque<Mapping>() : null;
       this.allMappings = createSrcMap ? new ArrayList<Mapping>() : null;
+      this.currentLineMappings = createSrcMap ? new ArrayList<Mapping>() : null;
     }
 
     /**
@@ -105,6 +112,7 @@ public final class CodePrinter {
         mapping.start = new FilePosition(line, index);
         mappings.push(mapping);
         allMappings.add(mapping);
+        addCurrentLineMapping(mapping, line);
       }
     }
 
@@ -120,7 +128,22 @@ public final class CodePrinter {
         int index = getCurrentCharIndex();
         Preconditions.checkState(line >= 0);
         mapping.end = new FilePosition(line, index);
+        if (mapping.start.getLine() != line) {
+          addCurrentLineMapping(mapping, line);
+        }
+      }
+    }
+
+    /**
+     * Records that the given mapping has a position on the given line,
+     * which must be the current line.
+     */
+    private void addCurrentLineMapping(Mapping mapping, int line) {
+      if (currentLineMappingsIndex != line) {
+        currentLineMappings.clear();
+        currentLineMappingsIndex = line;
       }
+      currentLineMappings.add(mapping);
     }
 
     /**
@@ -144,19 +167,58 @@ public final class CodePrinter {
      * as needed.
      */
     void reportLineCut(int lineIndex, int charIndex, boolean insertion) {
-      if (createSrcMap) {
+      if (!createSrcMap) {
+        return;
+      }
+      if (insertion) {
+        // Only positions on the line being cut can move, and they either
+        // stay on that line or move to the new line that follows it.
+        if (currentLineMappingsIndex != lineIndex) {
+          return;
+        }
+        int newLineIndex = lineIndex + 1;
+        List<Mapping> onNewLine = new ArrayList<>();
+        for (Mapping mapping : currentLineMappings) {
+          convertMapping(mapping, lineIndex, charIndex, insertion);
+          if (hasPositionOnLine(mapping, newLineIndex)) {
+            onNewLine.add(mapping);
+          }
+        }
+        currentLineMappings.clear();
+        currentLineMappings.addAll(onNewLine);
+        currentLineMappingsIndex = newLineIndex;
+      } else {
+        // Undoing a cut merges the current line into the previous one, whose
+        // mappings are not tracked, so rebuild the tracking from scratch.
+        // This only happens once, at the end of the file.
+        int newLineIndex = lineIndex - 1;
+        currentLineMappings.clear();
+        currentLineMappingsIndex = newLineIndex;
         for (Mapping mapping : allMappings) {
-          mapping.start = convertPosition(mapping.start, lineIndex, charIndex,
-              insertion);
-
-          if (mapping.end != null) {
-            mapping.end = convertPosition(mapping.end, lineIndex, charIndex,
-                insertion);
+          convertMapping(mapping, lineIndex, charIndex, insertion);
+          if (hasPositionOnLine(mapping, newLineIndex)) {
+            currentLineMappings.add(mapping);
           }
         }
       }
     }
 
+    private static void convertMapping(
+        Mapping mapping, int lineIndex, int charIndex, boolean insertion) {
+      mapping.start = convertPosition(mapping.start, lineIndex, charIndex,
+          insertion);
+
+      if (mapping.end != null) {
+        mapping.end = convertPosition(mapping.end, lineIndex, charIndex,
+            insertion);
+      }
+    }
+
+    private static boolean hasPositionOnLine(Mapping mapping, int line) {
+      return mapping.start.getLine() == line
+          || (mapping.end != null && mapping.end.getLine() == line);
+    }
+
     /**
      * Converts the given position by normalizing it against the insertion
      * or removal of a newline at the given line and character position.
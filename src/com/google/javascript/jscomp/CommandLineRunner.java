@@ -253,6 +253,15 @@ public class CommandLineRunner extends
         + "3 (always print summary). The default level is 1")
     private int summaryDetailLevel = 1;
 
+    @Option(name = "--stream_errors_max_retained",
+        hidden = true,
+        usage = "When set to a non-negative value, errors and warnings are "
+        + "printed as soon as they are reported instead of sorted at the end "
+        + "of the compilation, and at most this many errors and this many "
+        + "warnings are kept in memory. Meant for builds that report a very "
+        + "large number of warnings. The default of -1 prints a sorted report")
+    private int streamErrorsMaxRetained = -1;
+
     @Option(name = "--output_wrapper",
         hidden = true,
         usage = "Interpolate output into this string at the place denoted"
@@ -1076,6 +1085,7 @@ public class CommandLineRunner extends
           .setPropertyMapOutputFile(flags.propertyMapOutputFile)
           .setCodingConvention(conv)
           .setSummaryDetailLevel(flags.summaryDetailLevel)
+          .setStreamingErrorMaxRetained(flags.streamErrorsMaxRetained)
           .setOutputWrapper(flags.outputWrapper)
           .setModuleWrapper(flags.moduleWrapper)
           .setModuleOutputPathPrefix(flags.moduleOutputPathPrefix)
@@ -1160,10 +1170,9 @@ public class CommandLineRunner extends
     options.renamePrefixNamespace = flags.renamePrefixNamespace;
 
     if (!flags.translationsFile.isEmpty()) {
-      try {
+      try (InputStream xtb = new FileInputStream(flags.translationsFile)) {
         options.messageBundle = new XtbMessageBundle(
-            new FileInputStream(flags.translationsFile),
-            flags.translationsProject);
+            xtb, flags.translationsProject);
       } catch (IOException e) {
         throw new RuntimeException("Reading XTB file", e);
       }
@@ -301,6 +301,12 @@ public class Compiler extends AbstractCompiler {
       if (outStream == null) {
         setErrorManager(
             new LoggerErrorManager(createMessageFormatter(), logger));
+      } else if (options.streamingErrorMaxRetained >= 0) {
+        StreamingErrorManager printer = new StreamingErrorManager(
+            createMessageFormatter(), outStream,
+            options.streamingErrorMaxRetained);
+        printer.setSummaryDetailLevel(options.summaryDetailLevel);
+        setErrorManager(printer);
       } else {
         PrintStreamErrorManager printer =
             new PrintStreamErrorManager(createMessageFormatter(), outStream);
@@ -1360,6 +1366,12 @@ public class Compiler extends AbstractCompiler {
         }
       }
 
+      // Don't build the AST of an input that can't be an externs file; it may
+      // still be pruned by dependency management.
+      if (!input.mayContainAnnotation("@externs")) {
+        continue;
+      }
+
       Node n = input.getAstRoot(this);
 
       // Inputs can have a null AST on a parse error.
@@ -1421,6 +1433,12 @@ public class Compiler extends AbstractCompiler {
     ES6ModuleLoader loader = new ES6ModuleLoader(options.moduleRoots, inputs);
     for (CompilerInput input : inputs) {
       input.setCompiler(this);
+      // Parsing an input that can't be a module would be wasted work if
+      // dependency management later prunes it.
+      if (options.dependencyOptions.needsManagement()
+          && !input.mayContainEs6ModuleSyntax()) {
+        continue;
+      }
       Node root = input.getAstRoot(this);
       if (root == null) {
         continue;
@@ -2214,8 +2232,10 @@ public class Compiler extends AbstractCompiler {
     // Translate it to one relative to our base directory.
     String path =
         getRelativeTo(result.getOriginalFile(), sourceMap.getOriginalPath());
-    sourceMapOriginalSources.putIfAbsent(
-        path, originalSourcesLoader.apply(path));
+    if (!sourceMapOriginalSources.containsKey(path)) {
+      sourceMapOriginalSources.putIfAbsent(
+          path, originalSourcesLoader.apply(path));
+    }
     return result.toBuilder()
         .setOriginalFile(path)
         .setColumnPosition(result.getColumnPosition() - 1)
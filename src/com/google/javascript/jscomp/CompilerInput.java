@@ -286,6 +286,37 @@ public class CompilerInput implements SourceAst, DependencyInfo {
     }
   }
 
+  /**
+   * Returns whether this input may contain ES6 import or export statements,
+   * judging only from its source text. Inputs that never mention either
+   * keyword can't be ES6 modules, so their AST doesn't need to be built to
+   * find out. May return true for inputs that aren't modules.
+   */
+  boolean mayContainEs6ModuleSyntax() {
+    return sourceMayContain("import") || sourceMayContain("export");
+  }
+
+  /**
+   * Returns whether this input may carry the given file-level JSDoc
+   * annotation, such as "@externs", judging only from its source text.
+   * May return true for inputs that don't have the annotation.
+   */
+  boolean mayContainAnnotation(String annotation) {
+    return sourceMayContain(annotation);
+  }
+
+  private boolean sourceMayContain(String text) {
+    if (!(ast instanceof JsAst)) {
+      return true;
+    }
+    try {
+      return getCode().contains(text);
+    } catch (IOException e) {
+      // Let the parser report the error.
+      return true;
+    }
+  }
+
   public String getCode() throws IOException {
     return getSourceFile().getCode();
   }
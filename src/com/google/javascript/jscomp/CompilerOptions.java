@@ -856,6 +856,8 @@ public class CompilerOptions implements Serializable {
 
   int summaryDetailLevel = 1;
 
+  int streamingErrorMaxRetained = -1;
+
   int lineLengthThreshold = CodePrinter.DEFAULT_LINE_LENGTH_THRESHOLD;
 
   //--------------------------------
@@ -1569,6 +1571,17 @@ public class CompilerOptions implements Serializable {
     this.summaryDetailLevel = summaryDetailLevel;
   }
 
+  /**
+   * When non-negative, errors and warnings are printed as soon as they are
+   * reported instead of being sorted at the end of the compilation, and at
+   * most this many errors and this many warnings are kept in memory. See
+   * {@link StreamingErrorManager}. The default of -1 keeps the sorted report.
+   * Only applies when the compiler prints to a stream.
+   */
+  public void setStreamingErrorMaxRetained(int maxRetained) {
+    this.streamingErrorMaxRetained = maxRetained;
+  }
+
   /**
    * @deprecated replaced by {@link #setExternExports}
    */
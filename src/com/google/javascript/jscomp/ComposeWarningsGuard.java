@@ -77,6 +77,10 @@ public class ComposeWarningsGuard extends WarningsGuard {
   private final TreeSet<WarningsGuard> guards =
       new TreeSet<>(guardComparator);
 
+  // A snapshot of guards, in application order. Every reported error goes
+  // through level(), so iterate a flat list rather than the tree.
+  private ImmutableList<WarningsGuard> orderedGuards = ImmutableList.of();
+
   public ComposeWarningsGuard(List<WarningsGuard> guards) {
     addGuards(guards);
   }
@@ -99,6 +103,7 @@ public class ComposeWarningsGuard extends WarningsGuard {
       orderOfAddition.put(guard, numberOfAdds);
       guards.remove(guard);
       guards.add(guard);
+      orderedGuards = ImmutableList.copyOf(guards);
     }
   }
 
@@ -110,8 +115,8 @@ public class ComposeWarningsGuard extends WarningsGuard {
 
   @Override
   public CheckLevel level(JSError error) {
-    for (WarningsGuard guard : guards) {
-      CheckLevel newLevel = guard.level(error);
+    for (int i = 0; i < orderedGuards.size(); i++) {
+      CheckLevel newLevel = orderedGuards.get(i).level(error);
       if (newLevel != null) {
         if (demoteErrors && newLevel == CheckLevel.ERROR) {
           return CheckLevel.WARNING;
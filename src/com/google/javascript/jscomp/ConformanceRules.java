@@ -22,6 +22,7 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
 import com.google.javascript.jscomp.CheckConformance.InvalidRequirementSpec;
@@ -116,6 +117,12 @@ public final class ConformanceRules {
     @Nullable final Pattern whitelistRegexp;
     @Nullable final Pattern onlyApplyToRegexp;
 
+    // Violations tend to cluster within a file, so remember the answer for
+    // the most recently seen source file rather than re-matching the
+    // whitelist prefixes and regexps for each reported node.
+    @Nullable private String lastSourceName;
+    private boolean lastSourceShouldBeChecked;
+
     public AbstractRule(AbstractCompiler compiler, Requirement requirement)
         throws InvalidRequirementSpec {
       if (!requirement.hasErrorMessage()) {
@@ -182,7 +189,16 @@ public final class ConformanceRules {
       String srcfile = NodeUtil.getSourceName(n);
       if (srcfile == null) {
         return true;
-      } else if (!onlyApplyTo.isEmpty() || onlyApplyToRegexp != null) {
+      }
+      if (!srcfile.equals(lastSourceName)) {
+        lastSourceShouldBeChecked = shouldCheckConformance(srcfile);
+        lastSourceName = srcfile;
+      }
+      return lastSourceShouldBeChecked;
+    }
+
+    private boolean shouldCheckConformance(String srcfile) {
+      if (!onlyApplyTo.isEmpty() || onlyApplyToRegexp != null) {
         return pathIsInListOrRegexp(srcfile, onlyApplyTo, onlyApplyToRegexp);
       } else {
         return !pathIsInListOrRegexp(srcfile, whitelist, whitelistRegexp);
@@ -260,7 +276,9 @@ public final class ConformanceRules {
    * Banned name rule
    */
   static class BannedName extends AbstractRule {
-    private final List<String> names;
+    // Banned names keyed by their last component, so that most nodes can be
+    // rejected with a single hash lookup instead of a scan of all values.
+    private final ImmutableListMultimap<String, String> namesByLastComponent;
 
     BannedName(AbstractCompiler compiler, Requirement requirement)
         throws InvalidRequirementSpec {
@@ -268,7 +286,12 @@ public final class ConformanceRules {
       if (requirement.getValueCount() == 0) {
         throw new InvalidRequirementSpec("missing value");
       }
-      names = requirement.getValueList();
+      ImmutableListMultimap.Builder<String, String> builder =
+          ImmutableListMultimap.builder();
+      for (String name : requirement.getValueList()) {
+        builder.put(name.substring(name.lastIndexOf('.') + 1), name);
+      }
+      namesByLastComponent = builder.build();
     }
 
     @Override
@@ -276,6 +299,9 @@ public final class ConformanceRules {
       if (n.isGetProp() || n.isName()) {
         // TODO(johnlenz): restrict to global names
         if (n.isQualifiedName()) {
+          String lastComponent = n.isName()
+              ? n.getString() : n.getLastChild().getString();
+          List<String> names = namesByLastComponent.get(lastComponent);
           for (int i = 0; i < names.size(); i++) {
             String name = names.get(i);
             if (n.matchesQualifiedName(name)) {
@@ -300,7 +326,8 @@ public final class ConformanceRules {
         this.property = property;
       }
     }
-    private final ImmutableList<Property> props;
+    // Banned properties keyed by property name.
+    private final ImmutableListMultimap<String, Property> props;
     private final Requirement.Type requirementType;
 
     BannedProperty(AbstractCompiler compiler, Requirement requirement)
@@ -317,7 +344,8 @@ public final class ConformanceRules {
           || requirement.getType() == Type.BANNED_PROPERTY_CALL);
       requirementType = requirement.getType();
 
-      ImmutableList.Builder<Property> builder = ImmutableList.builder();
+      ImmutableListMultimap.Builder<String, Property> builder =
+          ImmutableListMultimap.builder();
       List<String> values = requirement.getValueList();
       for (String value : values) {
         String type = getClassFromDeclarationName(value);
@@ -325,7 +353,7 @@ public final class ConformanceRules {
         if (type == null || property == null) {
           throw new InvalidRequirementSpec("bad prop value");
         }
-        builder.add(new Property(type, property));
+        builder.put(property, new Property(type, property));
       }
 
       props = builder.build();
@@ -333,8 +361,12 @@ public final class ConformanceRules {
 
     @Override
     protected ConformanceResult checkConformance(NodeTraversal t, Node n) {
-      for (int i = 0; i < props.size(); i++) {
-        Property prop = props.get(i);
+      if (!NodeUtil.isGet(n) || !n.getLastChild().isString()) {
+        return ConformanceResult.CONFORMANCE;
+      }
+      List<Property> candidates = props.get(n.getLastChild().getString());
+      for (int i = 0; i < candidates.size(); i++) {
+        Property prop = candidates.get(i);
         ConformanceResult result = checkConformance(t, n, prop);
         if (result.level != ConformanceLevel.CONFORMANCE) {
           return result;
@@ -63,6 +63,20 @@ class CoverageInstrumentationCallback extends
         CoverageUtil.createIdentifierFromText(getFileName(traversal));
   }
 
+  /**
+   * Returns the instrumentation data of the file being traversed, creating it
+   * on first use.
+   */
+  private FileInstrumentationData getOrCreateData(NodeTraversal traversal) {
+    String fileName = getFileName(traversal);
+    FileInstrumentationData data = instrumentationData.get(fileName);
+    if (data == null) {
+      data = new FileInstrumentationData(fileName, createArrayName(traversal));
+      instrumentationData.put(fileName, data);
+    }
+    return data;
+  }
+
   /**
    * Creates and return a new instrumentation node. The instrumentation Node is
    * of the form: "arrayName[lineNumber] = true;"
@@ -77,12 +91,11 @@ class CoverageInstrumentationCallback extends
    * @return an instrumentation node corresponding to the line number
    */
   private Node newInstrumentationNode(NodeTraversal traversal, int lineNumber) {
-    String fileName = getFileName(traversal);
-    String arrayName = createArrayName(traversal);
+    FileInstrumentationData data = getOrCreateData(traversal);
 
     // Create instrumentation Node
     //   arr[line] = true;
-    Node nameNode = IR.name(arrayName);
+    Node nameNode = IR.name(data.getArrayName());
     Node numNode = IR.number(lineNumber - 1);  // Make line number 0-based
     Node getElemNode = IR.getelem(nameNode, numNode);
     Node trueNode = IR.trueNode();
@@ -90,15 +103,69 @@ class CoverageInstrumentationCallback extends
     Node exprNode = IR.exprResult(assignNode);
 
     // Note line as instrumented
-    if (!instrumentationData.containsKey(fileName)) {
-      instrumentationData.put(fileName,
-                              new FileInstrumentationData(fileName, arrayName));
-    }
-    instrumentationData.get(fileName).setLineAsInstrumented(lineNumber);
+    data.setLineAsInstrumented(lineNumber);
 
     return exprNode;
   }
 
+  /**
+   * Whether the given node is an instrumentation node of the current file
+   * for the given 1-based line number.
+   */
+  private boolean isInstrumentationNode(
+      NodeTraversal traversal, Node node, int lineNumber) {
+    if (node == null || !node.isExprResult()
+        || !node.getFirstChild().isAssign()) {
+      return false;
+    }
+    Node target = node.getFirstChild().getFirstChild();
+    if (!target.isGetElem()
+        || !target.getFirstChild().isName()
+        || !target.getLastChild().isNumber()
+        || target.getLastChild().getDouble() != lineNumber - 1) {
+      return false;
+    }
+    FileInstrumentationData data =
+        instrumentationData.get(getFileName(traversal));
+    return data != null
+        && data.getArrayName().equals(target.getFirstChild().getString());
+  }
+
+  /**
+   * Adds an instrumentation node as the first child of the given block, unless
+   * the block already starts by marking the same line.
+   */
+  private void instrumentBlockEntry(
+      NodeTraversal traversal, Node block, int lineNumber) {
+    if (!isInstrumentationNode(traversal, block.getFirstChild(), lineNumber)) {
+      block.addChildToFront(newInstrumentationNode(traversal, lineNumber));
+    }
+  }
+
+  /**
+   * Adds an instrumentation node before each statement of the given block.
+   * Statements that start on the same line as the previously instrumented
+   * statement of the block are skipped: the earlier node always runs first
+   * and has already marked that line.
+   */
+  private void instrumentStatements(NodeTraversal traversal, Node block) {
+    int lastLine = -1;
+    for (Node child = block.getFirstChild(); child != null;
+         child = child.getNext()) {
+      // These constructs are instrumented inside their own blocks.
+      if (child.isFunction() || child.isWith() || child.isCatch()
+          || child.isTry()) {
+        continue;
+      }
+      int lineNumber = child.getLineno();
+      if (lineNumber != lastLine) {
+        block.addChildBefore(newInstrumentationNode(traversal, lineNumber),
+            child);
+        lastLine = lineNumber;
+      }
+    }
+  }
+
   /**
    * Create and return a new array declaration node. The array name is
    * generated based on the source filename, and declaration is of the form:
@@ -149,6 +216,10 @@ class CoverageInstrumentationCallback extends
     // SCRIPT node is special - it is the root of the AST for code from a file.
     // Append code to declare and initialize structures used in instrumentation.
     if (node.isScript()) {
+      // Don't instrument global statements
+      if (reach != CoverageReach.CONDITIONAL) {
+        instrumentStatements(traversal, node);
+      }
       String fileName = getFileName(traversal);
       if (instrumentationData.get(fileName) != null) {
         node.addChildToFront(newHeaderNode(traversal));
@@ -156,6 +227,17 @@ class CoverageInstrumentationCallback extends
       return;
     }
 
+    // Add instrumentation code just before each statement of a block. This
+    // is done once the whole block has been visited, so that consecutive
+    // statements on the same line can share a single instrumentation node.
+    if (node.isBlock()) {
+      // The root of the AST holds scripts rather than statements.
+      if (!node.hasChildren() || !node.getFirstChild().isScript()) {
+        instrumentStatements(traversal, node);
+      }
+      return;
+    }
+
     // Don't instrument global statements
     if (reach == CoverageReach.CONDITIONAL
         && parent != null && parent.isScript()) {
@@ -169,24 +251,13 @@ class CoverageInstrumentationCallback extends
         node.isCase() ||
         node.isDefaultCase() ||
         node.isCatch()) {
-      Node codeBlock = node.getLastChild();
-      codeBlock.addChildToFront(
-          newInstrumentationNode(traversal, node.getLineno()));
+      instrumentBlockEntry(traversal, node.getLastChild(), node.getLineno());
       return;
     }
 
     // Add instrumentation code as the first child of a 'try' block.
     if (node.isTry()) {
-      Node firstChild = node.getFirstChild();
-      firstChild.addChildToFront(
-          newInstrumentationNode(traversal, node.getLineno()));
-      return;
-    }
-
-    // For any other statement, add instrumentation code just before it.
-    if (parent != null && NodeUtil.isStatementBlock(parent)) {
-      parent.addChildBefore(
-          newInstrumentationNode(traversal, node.getLineno()), node);
+      instrumentBlockEntry(traversal, node.getFirstChild(), node.getLineno());
       return;
     }
   }
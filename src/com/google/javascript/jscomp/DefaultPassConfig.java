@@ -1452,7 +1452,7 @@ public final class DefaultPassConfig extends PassConfig {
       new PassFactory("clearTypedScopePass", true) {
     @Override
     protected CompilerPass create(AbstractCompiler compiler) {
-      return new ClearTypedScope();
+      return new ClearTypedScope(compiler);
     }
   };
 
@@ -1618,9 +1618,19 @@ public final class DefaultPassConfig extends PassConfig {
 
   /** A compiler pass that clears the global scope. */
   class ClearTypedScope implements CompilerPass {
+    private final AbstractCompiler compiler;
+
+    ClearTypedScope(AbstractCompiler compiler) {
+      this.compiler = compiler;
+    }
+
     @Override
     public void process(Node externs, Node root) {
       clearTypedScope();
+      // The registry indexes named types by the scope they were resolved in,
+      // which would keep every typed scope reachable through the
+      // optimizations. Named types are fully resolved by now.
+      compiler.getTypeRegistry().clearNamedTypes();
     }
   }
 
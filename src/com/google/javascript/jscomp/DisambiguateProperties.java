@@ -40,6 +40,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -741,6 +742,13 @@ class DisambiguateProperties<T> implements CompilerPass {
   private static class JSTypeSystem implements TypeSystem<JSType> {
     private final Set<JSType> invalidatingTypes;
     private final Map<FunctionType, Iterable<ObjectType>> implementedInterfaces;
+    // The results of getTypesToSkipForType and getTypeWithProperty, which are
+    // otherwise recomputed for every reference to a property. Types don't
+    // change while this pass runs, so the results never need invalidating.
+    private final Map<JSType, ImmutableSet<JSType>> typesToSkipForType =
+        new IdentityHashMap<>();
+    private final Map<String, Map<JSType, ObjectType>> typesWithProperty =
+        new HashMap<>();
     private JSTypeRegistry registry;
 
     public JSTypeSystem(AbstractCompiler compiler) {
@@ -787,6 +795,15 @@ class DisambiguateProperties<T> implements CompilerPass {
     }
 
     @Override public ImmutableSet<JSType> getTypesToSkipForType(JSType type) {
+      ImmutableSet<JSType> types = typesToSkipForType.get(type);
+      if (types == null) {
+        types = computeTypesToSkipForType(type);
+        typesToSkipForType.put(type, types);
+      }
+      return types;
+    }
+
+    private ImmutableSet<JSType> computeTypesToSkipForType(JSType type) {
       type = type.restrictByNotNullOrUndefined();
       if (type.isUnionType()) {
         ImmutableSet.Builder<JSType> types = ImmutableSet.builder();
@@ -851,6 +868,19 @@ class DisambiguateProperties<T> implements CompilerPass {
         return null;
       }
 
+      Map<JSType, ObjectType> cache = typesWithProperty.get(field);
+      if (cache == null) {
+        cache = new IdentityHashMap<>();
+        typesWithProperty.put(field, cache);
+      } else if (cache.containsKey(type)) {
+        return cache.get(type);
+      }
+      ObjectType foundType = computeTypeWithProperty(field, type);
+      cache.put(type, foundType);
+      return foundType;
+    }
+
+    private ObjectType computeTypeWithProperty(String field, JSType type) {
       if (type.isEnumElementType()) {
         return getTypeWithProperty(
             field, type.toMaybeEnumElementType().getPrimitiveType());
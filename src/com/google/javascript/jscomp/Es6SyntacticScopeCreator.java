@@ -36,6 +36,8 @@ class Es6SyntacticScopeCreator implements ScopeCreator {
   private final AbstractCompiler compiler;
   private Scope scope;
   private InputId inputId;
+  // The input for inputId, looked up on first use.
+  private CompilerInput input;
   private final RedeclarationHandler redeclarationHandler;
 
   // The arguments variable is special, in that it's declared for every function,
@@ -55,7 +57,7 @@ class Es6SyntacticScopeCreator implements ScopeCreator {
 
   @Override
   public Scope createScope(Node n, Scope parent) {
-    inputId = null;
+    setInputId(null);
     if (parent == null) {
       scope = Scope.createGlobalScope(n);
     } else {
@@ -64,7 +66,7 @@ class Es6SyntacticScopeCreator implements ScopeCreator {
 
     scanRoot(n);
 
-    inputId = null;
+    setInputId(null);
     Scope returnedScope = scope;
     scope = null;
     return returnedScope;
@@ -73,7 +75,7 @@ class Es6SyntacticScopeCreator implements ScopeCreator {
   private void scanRoot(Node n) {
     if (n.isFunction()) {
       if (inputId == null) {
-        inputId = NodeUtil.getInputId(n);
+        setInputId(NodeUtil.getInputId(n));
         // TODO(johnlenz): inputId maybe null if the FUNCTION node is detached
         // from the AST.
         // Is it meaningful to build a scope for detached FUNCTION node?
@@ -202,7 +204,7 @@ class Es6SyntacticScopeCreator implements ScopeCreator {
         return;  // only one child to scan
 
       case Token.SCRIPT:
-        inputId = n.getInputId();
+        setInputId(n.getInputId());
         Preconditions.checkNotNull(inputId);
         break;
     }
@@ -223,6 +225,11 @@ class Es6SyntacticScopeCreator implements ScopeCreator {
     declareVar(scope, n);
   }
 
+  private void setInputId(InputId inputId) {
+    this.inputId = inputId;
+    this.input = null;
+  }
+
   /**
    * Declares a variable.
    *
@@ -240,7 +247,9 @@ class Es6SyntacticScopeCreator implements ScopeCreator {
       return;
     }
 
-    CompilerInput input = compiler.getInput(inputId);
+    if (input == null) {
+      input = compiler.getInput(inputId);
+    }
     if (s.isDeclared(name, false) || (s.isLocal() && name.equals(ARGUMENTS))) {
       redeclarationHandler.onRedeclaration(s, name, n, input);
     } else {
@@ -22,6 +22,7 @@ import com.google.javascript.rhino.Node;
 import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 
 /**
@@ -49,6 +50,9 @@ import java.util.Map;
 class FunctionNames implements CompilerPass, Serializable {
   private static final long serialVersionUID = 1L;
 
+  private static final Pattern TOPLEVEL_ANONYMOUS_PREFIX =
+      Pattern.compile("^(<anonymous>::)*");
+
   private final transient AbstractCompiler compiler;
   private final Map<Node, FunctionRecord> functionMap = new LinkedHashMap<>();
   private final transient FunctionListExtractor functionListExtractor;
@@ -87,6 +91,15 @@ class FunctionNames implements CompilerPass, Serializable {
       return null;
     }
 
+    // The name depends on the names of all enclosing functions, so it is
+    // computed once and shared with the nested functions.
+    if (record.qualifiedName == null) {
+      record.qualifiedName = computeFunctionName(record);
+    }
+    return record.qualifiedName;
+  }
+
+  private String computeFunctionName(FunctionRecord record) {
     String str = record.name;
     if (str.isEmpty()) {
       str = "<anonymous>";
@@ -104,7 +117,7 @@ class FunctionNames implements CompilerPass, Serializable {
     // with "..", just remove the extra dot.
     str = str.replace("..", ".");
     // remove toplevel anonymous blocks, if they exists.
-    str = str.replaceFirst("^(<anonymous>::)*", "");
+    str = TOPLEVEL_ANONYMOUS_PREFIX.matcher(str).replaceFirst("");
     return str;
   }
 
@@ -114,6 +127,7 @@ class FunctionNames implements CompilerPass, Serializable {
     public final int id;
     public final Node parent;
     public String name;
+    private transient String qualifiedName;
 
     FunctionRecord(int id, Node parent, String name) {
       this.id = id;
@@ -904,7 +904,7 @@ class GlobalNamespace
         if (i >= 0) {
           String parentName = name.substring(0, i);
           Name parent = getOrCreateName(parentName);
-          node = parent.addProperty(name.substring(i + 1), inExterns);
+          node = parent.addProperty(name.substring(i + 1), name, inExterns);
         } else {
           node = new Name(name, null, inExterns);
           globalNames.add(node);
@@ -933,7 +933,14 @@ class GlobalNamespace
       OTHER,
     }
 
+    // Most names have very few references and properties, so don't reserve
+    // space for the ArrayList default of ten on their lists.
+    private static final int INITIAL_LIST_CAPACITY = 2;
+
     private final String baseName;
+    // Shares the string used as the key of nameMap, so that the full name
+    // doesn't need to be rebuilt from the parent chain on every lookup.
+    private final String fullName;
     final Name parent;
     List<Name> props;
 
@@ -958,17 +965,34 @@ class GlobalNamespace
     JSDocInfo docInfo = null;
 
     Name(String name, Name parent, boolean inExterns) {
+      this(name,
+          parent == null ? name : parent.getFullName() + '.' + name,
+          parent,
+          inExterns);
+    }
+
+    private Name(
+        String name, String fullName, Name parent, boolean inExterns) {
       this.baseName = name;
+      this.fullName = fullName;
       this.parent = parent;
       this.type = Type.OTHER;
       this.inExterns = inExterns;
     }
 
     Name addProperty(String name, boolean inExterns) {
+      return addProperty(name, getFullName() + '.' + name, inExterns);
+    }
+
+    /**
+     * Adds a property with the given base name and full name, which must be
+     * this name's full name followed by '.' and the base name.
+     */
+    Name addProperty(String name, String fullName, boolean inExterns) {
       if (props == null) {
-        props = new ArrayList<>();
+        props = new ArrayList<>(INITIAL_LIST_CAPACITY);
       }
-      Name node = new Name(name, this, inExterns);
+      Name node = new Name(name, fullName, this, inExterns);
       props.add(node);
       return node;
     }
@@ -983,7 +1007,7 @@ class GlobalNamespace
     }
 
     String getFullName() {
-      return parent == null ? baseName : parent.getFullName() + '.' + baseName;
+      return fullName;
     }
 
     @Override
@@ -1094,7 +1118,7 @@ class GlobalNamespace
 
     void addRefInternal(Ref ref) {
       if (refs == null) {
-        refs = new ArrayList<>();
+        refs = new ArrayList<>(INITIAL_LIST_CAPACITY);
       }
       refs.add(ref);
     }
@@ -266,6 +266,14 @@ class InstrumentFunctions implements CompilerPass {
      * @return true if all paths from block must exit with an explicit return.
      */
     private boolean allPathsReturn(Node function) {
+      // A return statement never completes normally, so when the body ends
+      // with one no path can reach the implicit return and the control flow
+      // graph is not needed.
+      Node lastStatement = function.getLastChild().getLastChild();
+      if (lastStatement != null && lastStatement.isReturn()) {
+        return true;
+      }
+
       // Computes the control flow graph.
       ControlFlowAnalysis cfa = new ControlFlowAnalysis(
           compiler, false, false);
@@ -20,9 +20,7 @@ import com.google.common.primitives.Chars;
 import com.google.javascript.rhino.TokenStream;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.Nullable;
@@ -65,12 +63,9 @@ final class NameGenerator {
     }
   }
 
-  // TODO(user): Maybe we don't need a HashMap to look up.
-  // I started writing a skip-list like data-structure that would let us
-  // have O(1) favors() and O(1) restartNaming() but the code gotten very messy.
-  // Lets start with a logical implementation first until performance becomes
-  // a problem.
-  private final Map<Character, CharPriority> priorityLookupMap;
+  // Indexed by character. Every character in NONFIRST_CHAR is ASCII, so a
+  // plain array avoids boxing each character looked up by favors().
+  private final CharPriority[] priorityLookup;
 
   // It is important that the ordering of FIRST_CHAR is as close to NONFIRT_CHAR
   // as possible. Using the ASCII ordering is not a good idea. The reason
@@ -108,11 +103,11 @@ final class NameGenerator {
     this.reservedNames = reservedNames;
     this.prefix = prefix;
 
-    this.priorityLookupMap = new HashMap<>(NONFIRST_CHAR.length);
+    this.priorityLookup = new CharPriority[128];
 
     int order = 0;
     for (char c : NONFIRST_CHAR) {
-      priorityLookupMap.put(c, new CharPriority(c, order));
+      priorityLookup[c] = new CharPriority(c, order);
       order++;
     }
 
@@ -141,7 +136,8 @@ final class NameGenerator {
    */
   public void favors(CharSequence sequence) {
     for (int i = 0; i < sequence.length(); i++) {
-      CharPriority c = priorityLookupMap.get(sequence.charAt(i));
+      char ch = sequence.charAt(i);
+      CharPriority c = ch < priorityLookup.length ? priorityLookup[ch] : null;
       if (c != null) {
         c.occurrence++;
       }
@@ -159,7 +155,7 @@ final class NameGenerator {
     if (reservedCharacters == null || reservedCharacters.length == 0) {
       CharPriority[] result = new CharPriority[chars.length];
       for (int i = 0; i < chars.length; i++) {
-        result[i] = priorityLookupMap.get(chars[i]);
+        result[i] = priorityLookup[chars[i]];
       }
       return result;
     }
@@ -171,7 +167,7 @@ final class NameGenerator {
     CharPriority[] result = new CharPriority[charSet.size()];
     int index = 0;
     for (char c : charSet) {
-      result[index++] = priorityLookupMap.get(c);
+      result[index++] = priorityLookup[c];
     }
     return result;
   }
@@ -215,32 +211,35 @@ final class NameGenerator {
    * Generates the next short name.
    */
   String generateNextName() {
+    StringBuilder name = new StringBuilder(prefix.length() + 4);
     while (true) {
-      String name = prefix;
+      name.setLength(0);
+      name.append(prefix);
 
       int i = nameCount;
 
-      if (name.isEmpty()) {
+      if (prefix.isEmpty()) {
         int pos = i % firstChars.length;
-        name += firstChars[pos].name;
+        name.append(firstChars[pos].name);
         i /= firstChars.length;
       }
 
       while (i > 0) {
         i--;
         int pos = i % nonFirstChars.length;
-        name += nonFirstChars[pos].name;
+        name.append(nonFirstChars[pos].name);
         i /= nonFirstChars.length;
       }
 
       nameCount++;
 
       // Make sure it's not a JS keyword or reserved name.
-      if (TokenStream.isKeyword(name) || reservedNames.contains(name)) {
+      String result = name.toString();
+      if (TokenStream.isKeyword(result) || reservedNames.contains(result)) {
         continue;
       }
 
-      return name;
+      return result;
     }
   }
 }
@@ -62,15 +62,28 @@ public class PrintStreamErrorManager extends BasicErrorManager {
 
   @Override
   public void printSummary() {
+    printSummary(stream, this, summaryDetailLevel);
+  }
+
+  /**
+   * Prints the number of errors and warnings of the given error manager, as
+   * controlled by {@code summaryDetailLevel}.
+   * @see CompilerOptions#setSummaryDetailLevel(int)
+   */
+  static void printSummary(
+      PrintStream stream, ErrorManager manager, int summaryDetailLevel) {
+    int errorCount = manager.getErrorCount();
+    int warningCount = manager.getWarningCount();
+    double typedPercent = manager.getTypedPercent();
     if (summaryDetailLevel >= 3 ||
-        (summaryDetailLevel >= 1 && getErrorCount() + getWarningCount() > 0) ||
-        (summaryDetailLevel >= 2 && getTypedPercent() > 0.0)) {
-      if (getTypedPercent() > 0.0) {
+        (summaryDetailLevel >= 1 && errorCount + warningCount > 0) ||
+        (summaryDetailLevel >= 2 && typedPercent > 0.0)) {
+      if (typedPercent > 0.0) {
         stream.format("%d error(s), %d warning(s), %.1f%% typed%n",
-            getErrorCount(), getWarningCount(), getTypedPercent());
+            errorCount, warningCount, typedPercent);
       } else {
-        stream.format("%d error(s), %d warning(s)%n", getErrorCount(),
-            getWarningCount());
+        stream.format("%d error(s), %d warning(s)%n", errorCount,
+            warningCount);
       }
     }
   }
@@ -118,6 +118,9 @@ final class RenameVars implements CompilerPass {
   private final Map<String, Assignment> assignments =
       new HashMap<>();
 
+  /** The temporary names given to local variables, indexed by var index */
+  private final List<String> localTempNames = new ArrayList<>();
+
   /** Whether renaming should apply to local variables only. */
   private final boolean localRenamingOnly;
 
@@ -297,7 +300,7 @@ final class RenameVars implements CompilerPass {
         // Give local variables a temporary name based on the
         // variable's index in the scope to enable name reuse across
         // locals in independent scopes.
-        String tempName = LOCAL_VAR_PREFIX + getLocalVarIndex(var);
+        String tempName = getLocalTempName(getLocalVarIndex(var));
         incCount(tempName);
         localNameNodes.add(n);
         n.setString(tempName);
@@ -574,6 +577,17 @@ final class RenameVars implements CompilerPass {
     return !compiler.getCodingConvention().isExported(name, isLocal);
   }
 
+  /**
+   * Returns the temporary name for the local variable with the given index.
+   * The names are shared by every scope rather than built per reference.
+   */
+  private String getLocalTempName(int index) {
+    while (localTempNames.size() <= index) {
+      localTempNames.add(LOCAL_VAR_PREFIX + localTempNames.size());
+    }
+    return localTempNames.get(index);
+  }
+
   /**
    * Returns the index within the scope stack.
    * e.g. function Foo(a) { var b; function c(d) { } }
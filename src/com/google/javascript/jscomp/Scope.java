@@ -111,10 +111,14 @@ public class Scope implements StaticScope {
    */
   Var declare(String name, Node nameNode, CompilerInput input) {
     Preconditions.checkState(name != null && !name.isEmpty());
-    // Make sure that it's declared only once
-    Preconditions.checkState(vars.get(name) == null);
     Var var = new Var(name, nameNode, this, vars.size(), input);
-    vars.put(name, var);
+    // Make sure that it's declared only once
+    Var previous = vars.put(name, var);
+    if (previous != null) {
+      // Leave the scope as it was before failing.
+      vars.put(name, previous);
+      throw new IllegalStateException("Duplicate declaration of " + name);
+    }
     return var;
   }
 
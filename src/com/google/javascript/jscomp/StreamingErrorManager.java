@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.base.Preconditions;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * <p>An error manager that prints errors and warnings to a print stream as
+ * soon as they are reported, instead of collecting and sorting them until
+ * {@link #generateReport()} is called like the {@link BasicErrorManager}.</p>
+ *
+ * <p>This is meant for builds that report a very large number of warnings.
+ * Messages are printed in the order they are reported. Like the
+ * {@link BasicErrorManager}, a message that equals one already reported is
+ * dropped; this means every distinct message is remembered. Only
+ * {@code maxRetained} errors and {@code maxRetained} warnings are kept for
+ * {@link #getErrors()} and {@link #getWarnings()}. They are a uniform sample
+ * of all the reported ones, chosen with a fixed seed so that the same reports
+ * always give the same sample. The error and warning counts are always
+ * exact.</p>
+ */
+public class StreamingErrorManager implements ErrorManager {
+  private final MessageFormatter formatter;
+  private final PrintStream stream;
+  private final Set<JSError> reported = new HashSet<>();
+  private final Sample errors;
+  private final Sample warnings;
+  private double typedPercent = 0.0;
+  private int summaryDetailLevel = 1;
+
+  /**
+   * Creates an error manager.
+   * @param formatter the message formatter used to format the messages
+   * @param stream the stream on which the errors and warnings should be
+   *     printed. This class does not close the stream
+   * @param maxRetained the maximum number of errors, and of warnings, to keep
+   *     for {@link #getErrors()} and {@link #getWarnings()}
+   */
+  public StreamingErrorManager(MessageFormatter formatter,
+      PrintStream stream, int maxRetained) {
+    Preconditions.checkArgument(maxRetained >= 0);
+    this.formatter = formatter;
+    this.stream = stream;
+    this.errors = new Sample(maxRetained);
+    this.warnings = new Sample(maxRetained);
+  }
+
+  /**
+   * Creates an instance with a source-less error formatter.
+   */
+  public StreamingErrorManager(PrintStream stream, int maxRetained) {
+    this(ErrorFormat.SOURCELESS.toFormatter(null, false), stream,
+        maxRetained);
+  }
+
+  @Override
+  public void report(CheckLevel level, JSError error) {
+    if (!reported.add(error)) {
+      return;
+    }
+    if (level == CheckLevel.ERROR) {
+      errors.add(error);
+    } else if (level == CheckLevel.WARNING) {
+      warnings.add(error);
+    }
+    stream.println(error.format(level, formatter));
+  }
+
+  public void setSummaryDetailLevel(int summaryDetailLevel) {
+    this.summaryDetailLevel = summaryDetailLevel;
+  }
+
+  /**
+   * Messages have already been printed as they were reported, so this only
+   * prints the summary, like {@link PrintStreamErrorManager} does.
+   */
+  @Override
+  public void generateReport() {
+    PrintStreamErrorManager.printSummary(stream, this, summaryDetailLevel);
+  }
+
+  @Override
+  public int getErrorCount() {
+    return errors.count;
+  }
+
+  @Override
+  public int getWarningCount() {
+    return warnings.count;
+  }
+
+  /**
+   * Returns the retained errors, which may be fewer than
+   * {@link #getErrorCount()}.
+   */
+  @Override
+  public JSError[] getErrors() {
+    return errors.toArray();
+  }
+
+  /**
+   * Returns the retained warnings, which may be fewer than
+   * {@link #getWarningCount()}.
+   */
+  @Override
+  public JSError[] getWarnings() {
+    return warnings.toArray();
+  }
+
+  @Override
+  public void setTypedPercent(double typedPercent) {
+    this.typedPercent = typedPercent;
+  }
+
+  @Override
+  public double getTypedPercent() {
+    return typedPercent;
+  }
+
+  /**
+   * A reservoir sample of at most {@code max} messages, which counts all the
+   * messages added to it.
+   */
+  private static final class Sample {
+    private final int max;
+    private final List<JSError> retained = new ArrayList<>();
+    // A fixed seed, so that the sample is the same from one run to the next.
+    private final Random random = new Random(0);
+    int count = 0;
+
+    Sample(int max) {
+      this.max = max;
+    }
+
+    void add(JSError error) {
+      count++;
+      if (retained.size() < max) {
+        retained.add(error);
+      } else if (max > 0) {
+        // Keep the new message with probability max / count.
+        int index = random.nextInt(count);
+        if (index < max) {
+          retained.set(index, error);
+        }
+      }
+    }
+
+    JSError[] toArray() {
+      return retained.toArray(new JSError[retained.size()]);
+    }
+  }
+}
@@ -32,6 +32,8 @@ class SyntacticScopeCreator implements ScopeCreator {
   private final AbstractCompiler compiler;
   private Scope scope;
   private InputId inputId;
+  // The input for inputId, looked up on first use.
+  private CompilerInput input;
   private final RedeclarationHandler redeclarationHandler;
 
   // The arguments variable is special, in that it's declared in every local
@@ -70,7 +72,7 @@ class SyntacticScopeCreator implements ScopeCreator {
   @SuppressWarnings("unchecked")
   // The cast to T is OK because we cannot mix typed and untyped scopes in the same chain.
   public <T extends Scope> T createScope(Node n, T parent) {
-    inputId = null;
+    setInputId(null);
     if (parent == null) {
       scope = isTyped ? TypedScope.createGlobalScope(n) : Scope.createGlobalScope(n);
     } else {
@@ -79,7 +81,7 @@ class SyntacticScopeCreator implements ScopeCreator {
 
     scanRoot(n);
 
-    inputId = null;
+    setInputId(null);
     Scope returnedScope = scope;
     scope = null;
     return (T) returnedScope;
@@ -88,7 +90,7 @@ class SyntacticScopeCreator implements ScopeCreator {
   private void scanRoot(Node n) {
     if (n.isFunction()) {
       if (inputId == null) {
-        inputId = NodeUtil.getInputId(n);
+        setInputId(NodeUtil.getInputId(n));
         // TODO(johnlenz): inputId maybe null if the FUNCTION node is detached
         // from the AST.
         // Is it meaningful to build a scope for detached FUNCTION node?
@@ -164,7 +166,7 @@ class SyntacticScopeCreator implements ScopeCreator {
         return;  // only one child to scan
 
       case Token.SCRIPT:
-        inputId = n.getInputId();
+        setInputId(n.getInputId());
         Preconditions.checkNotNull(inputId);
         break;
     }
@@ -197,6 +199,11 @@ class SyntacticScopeCreator implements ScopeCreator {
     public void onRedeclaration(Scope s, String name, Node n, CompilerInput input) {}
   }
 
+  private void setInputId(InputId inputId) {
+    this.inputId = inputId;
+    this.input = null;
+  }
+
   /**
    * Declares a variable.
    *
@@ -205,7 +212,9 @@ class SyntacticScopeCreator implements ScopeCreator {
   private void declareVar(Node n) {
     Preconditions.checkState(n.isName());
 
-    CompilerInput input = compiler.getInput(inputId);
+    if (input == null) {
+      input = compiler.getInput(inputId);
+    }
     String name = n.getString();
     if (scope.isDeclared(name, false)
         || (scope.isLocal() && name.equals(ARGUMENTS))) {
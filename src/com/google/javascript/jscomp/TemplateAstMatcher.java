@@ -127,6 +127,21 @@ public final class TemplateAstMatcher {
     return false;
   }
 
+  /**
+   * Returns whether a node with the given token type could be the start of
+   * a match of this template. This is much cheaper than {@link #matches} and
+   * allows callers with many templates to only try the relevant ones.
+   */
+  public boolean mayMatchNodeType(int type) {
+    if (isTemplateParameterNode(templateStart)) {
+      // Matches any expression.
+      return true;
+    } else if (isTemplateLocalNameNode(templateStart)) {
+      return type == Token.NAME;
+    }
+    return templateStart.getType() == type;
+  }
+
   /**
    * @return Whether the last match succeeded due to loose type information.
    */
@@ -180,19 +180,24 @@ public class WhitelistWarningsGuard extends WarningsGuard {
   protected String formatWarning(JSError error, boolean withMetaData) {
     StringBuilder sb = new StringBuilder();
     sb.append(error.sourceName).append(":");
-    if (withMetaData) {
-      sb.append(error.lineNumber);
+    if (!withMetaData) {
+      // Only the first line is matched against the whitelist, so don't split
+      // the whole description for each reported warning.
+      String description = error.description;
+      int newline = description.indexOf('\n');
+      sb.append("  ").append(
+          description, 0, newline < 0 ? description.length() : newline);
+      return sb.toString();
     }
+    sb.append(error.lineNumber);
     List<String> lines = LINE_SPLITTER.splitToList(error.description);
     sb.append("  ").append(lines.get(0));
 
     // Add the rest of the message as a comment.
-    if (withMetaData) {
-      for (int i = 1; i < lines.size(); i++) {
-        sb.append("\n# ").append(lines.get(i));
-      }
-      sb.append("\n");
+    for (int i = 1; i < lines.size(); i++) {
+      sb.append("\n# ").append(lines.get(i));
     }
+    sb.append("\n");
 
     return sb.toString();
   }
@@ -138,6 +138,11 @@ public final class XtbMessageBundle implements MessageBundle {
     String lang;
     JsMessage.Builder msgBuilder;
 
+    // The parser may report the text of a translation in several chunks (at
+    // entity references, line breaks or buffer boundaries). They are joined
+    // here so each run of text becomes a single string part.
+    final StringBuilder text = new StringBuilder();
+
     @Override
     public void setDocumentLocator(Locator locator) {}
 
@@ -167,6 +172,7 @@ public final class XtbMessageBundle implements MessageBundle {
         msgBuilder = new JsMessage.Builder(id);
       } else if (PLACEHOLDER_ELEM_NAME.equals(qName)) {
         Preconditions.checkState(msgBuilder != null);
+        flushText();
         String phRef = atts.getValue(PLACEHOLDER_NAME_ATT_NAME);
         phRef = JsMessageVisitor.toLowerCamelCaseWithNumericSuffixes(phRef);
         msgBuilder.appendPlaceholderReference(phRef);
@@ -177,6 +183,7 @@ public final class XtbMessageBundle implements MessageBundle {
     public void endElement(String uri, String localName, String qName) {
       if (TRANSLATION_ELEM_NAME.equals(qName)) {
         Preconditions.checkState(msgBuilder != null);
+        flushText();
         if (!msgBuilder.hasParts()) {
           msgBuilder.appendStringPart("");
         }
@@ -190,7 +197,7 @@ public final class XtbMessageBundle implements MessageBundle {
     public void characters(char ch[], int start, int length) {
       if (msgBuilder != null) {
         // Append a string literal to the message.
-        msgBuilder.appendStringPart(String.valueOf(ch, start, length));
+        text.append(ch, start, length);
       }
     }
 
@@ -198,7 +205,14 @@ public final class XtbMessageBundle implements MessageBundle {
     public void ignorableWhitespace(char ch[], int start, int length) {
       if (msgBuilder != null) {
         // Preserve whitespace in messages.
-        msgBuilder.appendStringPart(String.valueOf(ch, start, length));
+        text.append(ch, start, length);
+      }
+    }
+
+    private void flushText() {
+      if (text.length() > 0) {
+        msgBuilder.appendStringPart(text.toString());
+        text.setLength(0);
       }
     }
 
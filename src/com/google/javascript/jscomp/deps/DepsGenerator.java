@@ -20,8 +20,12 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.javascript.jscomp.CheckLevel;
 import com.google.javascript.jscomp.DiagnosticType;
 import com.google.javascript.jscomp.ErrorManager;
@@ -40,6 +44,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 /**
@@ -65,6 +74,7 @@ public class DepsGenerator {
   private final String closurePathAbs;
   private final InclusionStrategy mergeStrategy;
   final ErrorManager errorManager;
+  private int threadCount = 1;
 
   static final DiagnosticType SAME_FILE_WARNING = DiagnosticType.warning(
       "DEPS_SAME_FILE",
@@ -106,6 +116,15 @@ public class DepsGenerator {
     this.errorManager = errorManager;
   }
 
+  /**
+   * Sets the number of threads used to scan the sources. The default of 1
+   * scans them on the calling thread.
+   */
+  public void setThreadCount(int threadCount) {
+    Preconditions.checkArgument(threadCount > 0);
+    this.threadCount = threadCount;
+  }
+
   /**
    * Performs the parsing inputs and writing of outputs.
    * @throws IOException Occurs upon an IO error.
@@ -309,7 +328,8 @@ public class DepsGenerator {
   }
 
   /**
-   * Parses all source files for dependency information.
+   * Parses all source files for dependency information. The files are
+   * scanned in parallel when more than one thread is allowed.
    * @param preparsedFiles A set of closure-relative paths.
    *     Files in this set are not parsed if they are encountered in srcs.
    * @return Returns a map of closure-relative paths -> DependencyInfo for the
@@ -318,29 +338,143 @@ public class DepsGenerator {
    */
   private Map<String, DependencyInfo> parseSources(
       Set<String> preparsedFiles) throws IOException {
-    Map<String, DependencyInfo> parsedFiles = new HashMap<>();
-    JsFileParser jsParser = new JsFileParser(errorManager);
-
-    for (SourceFile file : srcs) {
-      String closureRelativePath =
-          PathUtil.makeRelative(
-              closurePathAbs, PathUtil.makeAbsolute(file.getName()));
-      logger.fine("Closure-relative path: " + closureRelativePath);
-
-      if (InclusionStrategy.WHEN_IN_SRCS == mergeStrategy ||
-          !preparsedFiles.contains(closureRelativePath)) {
-        DependencyInfo depInfo =
-            jsParser.parseFile(
-                file.getName(), closureRelativePath,
-                file.getCode());
-
-        // Kick the source out of memory.
-        file.clearCachedSource();
-        parsedFiles.put(closureRelativePath, depInfo);
+    List<String> closureRelativePaths = new ArrayList<>();
+    List<Future<ScannedSource>> scans = new ArrayList<>();
+    ExecutorService executor = threadCount == 1
+        ? MoreExecutors.newDirectExecutorService()
+        : Executors.newFixedThreadPool(
+            Math.max(1, Math.min(srcs.size(), threadCount)));
+
+    try {
+      for (final SourceFile file : srcs) {
+        final String closureRelativePath =
+            PathUtil.makeRelative(
+                closurePathAbs, PathUtil.makeAbsolute(file.getName()));
+        logger.fine("Closure-relative path: " + closureRelativePath);
+
+        if (InclusionStrategy.WHEN_IN_SRCS == mergeStrategy ||
+            !preparsedFiles.contains(closureRelativePath)) {
+          closureRelativePaths.add(closureRelativePath);
+          scans.add(executor.submit(new Callable<ScannedSource>() {
+            @Override
+            public ScannedSource call() throws IOException {
+              return scanSource(file, closureRelativePath);
+            }
+          }));
+        }
+      }
+
+      // Collect the results in the order of srcs, so that the parse errors
+      // and the output are the same as when scanning serially.
+      Map<String, DependencyInfo> parsedFiles = new HashMap<>();
+      for (int i = 0; i < scans.size(); i++) {
+        ScannedSource scanned = getScannedSource(scans.get(i));
+        scanned.reportTo(errorManager);
+        parsedFiles.put(closureRelativePaths.get(i), scanned.depInfo);
       }
+      return parsedFiles;
+    } finally {
+      executor.shutdownNow();
     }
+  }
 
-    return parsedFiles;
+  /**
+   * Scans a single source file for dependency information. May run on a
+   * worker thread, so reports are buffered rather than sent to the error
+   * manager.
+   */
+  private static ScannedSource scanSource(
+      SourceFile file, String closureRelativePath) throws IOException {
+    ScannedSource scanned = new ScannedSource();
+    JsFileParser jsParser = new JsFileParser(scanned);
+    scanned.depInfo =
+        jsParser.parseFile(
+            file.getName(), closureRelativePath,
+            file.getCode());
+
+    // Kick the source out of memory.
+    file.clearCachedSource();
+    return scanned;
+  }
+
+  private static ScannedSource getScannedSource(Future<ScannedSource> scan)
+      throws IOException {
+    try {
+      return Uninterruptibles.getUninterruptibly(scan);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  /**
+   * The dependency information of a source file, along with the errors and
+   * warnings reported while scanning it.
+   */
+  static class ScannedSource implements ErrorManager {
+    DependencyInfo depInfo;
+    private final List<CheckLevel> levels = new ArrayList<>();
+    private final List<JSError> errors = new ArrayList<>();
+    private double typedPercent;
+
+    /**
+     * Passes the buffered errors and warnings on to the given manager, in the
+     * order they were reported.
+     */
+    void reportTo(ErrorManager errorManager) {
+      for (int i = 0; i < errors.size(); i++) {
+        errorManager.report(levels.get(i), errors.get(i));
+      }
+    }
+
+    @Override
+    public void report(CheckLevel level, JSError error) {
+      levels.add(level);
+      errors.add(error);
+    }
+
+    @Override
+    public void generateReport() {}
+
+    @Override
+    public int getErrorCount() {
+      return getErrors().length;
+    }
+
+    @Override
+    public int getWarningCount() {
+      return getWarnings().length;
+    }
+
+    @Override
+    public JSError[] getErrors() {
+      return getReports(CheckLevel.ERROR);
+    }
+
+    @Override
+    public JSError[] getWarnings() {
+      return getReports(CheckLevel.WARNING);
+    }
+
+    private JSError[] getReports(CheckLevel level) {
+      List<JSError> reports = new ArrayList<>();
+      for (int i = 0; i < errors.size(); i++) {
+        if (levels.get(i) == level) {
+          reports.add(errors.get(i));
+        }
+      }
+      return reports.toArray(new JSError[0]);
+    }
+
+    @Override
+    public void setTypedPercent(double typedPercent) {
+      this.typedPercent = typedPercent;
+    }
+
+    @Override
+    public double getTypedPercent() {
+      return typedPercent;
+    }
   }
 
   /**
@@ -38,9 +38,9 @@ public class LineNumberTable {
   }
 
   private static int[] computeLineStartOffsets(String source) {
-    // TODO(johnlenz): do this more efficiently.
-    ArrayList<Integer> lineStartOffsets = new ArrayList<>();
-    lineStartOffsets.add(0);
+    int[] lineStartOffsets = new int[64];
+    int lineCount = 0;
+    lineStartOffsets[lineCount++] = 0;
     for (int index = 0; index < source.length(); index++) {
       char ch = source.charAt(index);
       if (isLineTerminator(ch)) {
@@ -48,11 +48,15 @@ public class LineNumberTable {
             && source.charAt(index + 1) == '\n') {
           index++;
         }
-        lineStartOffsets.add(index + 1);
+        if (lineCount + 1 >= lineStartOffsets.length) {
+          lineStartOffsets = Arrays.copyOf(
+              lineStartOffsets, lineStartOffsets.length * 2);
+        }
+        lineStartOffsets[lineCount++] = index + 1;
       }
     }
-    lineStartOffsets.add(Integer.MAX_VALUE);
-    return toIntArray(lineStartOffsets);
+    lineStartOffsets[lineCount++] = Integer.MAX_VALUE;
+    return Arrays.copyOf(lineStartOffsets, lineCount);
   }
 
   public static int[] toIntArray(ArrayList<Integer> integers) {
@@ -21,7 +21,7 @@ import com.google.javascript.jscomp.parsing.parser.util.ErrorReporter;
 import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 
 /**
  * Scans javascript source code into tokens. All entrypoints assume the
@@ -33,7 +33,9 @@ import java.util.LinkedList;
 public class Scanner {
   private final ErrorReporter errorReporter;
   private final SourceFile source;
-  private final LinkedList<Token> currentTokens = new LinkedList<>();
+  // The lookahead is only ever a few tokens deep, so a list avoids the
+  // per-token node allocation of a linked list.
+  private final ArrayList<Token> currentTokens = new ArrayList<>();
   private int index;
   private final CommentRecorder commentRecorder;
   private int typeParameterLevel;
@@ -84,7 +86,7 @@ public class Scanner {
 
   public Token nextToken() {
     peekToken();
-    return currentTokens.remove();
+    return currentTokens.remove(0);
   }
 
   private void clearTokenLookahead() {
@@ -642,9 +644,6 @@ public class Scanner {
   }
 
   private Token scanIdentifierOrKeyword(int beginToken, char ch) {
-    StringBuilder valueBuilder = new StringBuilder();
-    valueBuilder.append(ch);
-
     boolean containsUnicodeEscape = ch == '\\';
 
     ch = peekChar();
@@ -655,11 +654,12 @@ public class Scanner {
       if (ch == '\\') {
         containsUnicodeEscape = true;
       }
-      valueBuilder.append(nextChar());
+      nextChar();
       ch = peekChar();
     }
 
-    String value = valueBuilder.toString();
+    // The identifier is exactly the source text scanned so far.
+    String value = source.contents.substring(beginToken, index);
 
     // Process unicode escapes.
     if (containsUnicodeEscape) {
@@ -45,6 +45,14 @@ public final class JsSourceMatcher implements Matcher {
     return matcher.matches(n);
   }
 
+  /**
+   * Returns whether a node with the given token type could be matched by this
+   * matcher.
+   */
+  public boolean mayMatchNodeType(int type) {
+    return matcher.mayMatchNodeType(type);
+  }
+
   /**
    * Returns a map from named template node strings to Nodes that were the
    * equivalent matches from the last matched template.
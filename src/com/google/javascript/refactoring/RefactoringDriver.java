@@ -79,6 +79,16 @@ public final class RefactoringDriver {
 
   @VisibleForTesting
   static CompilerOptions getCompilerOptions() {
+    return getCompilerOptions(true);
+  }
+
+  /**
+   * @param checkTypes Whether the inputs need to be type checked. Type checking
+   *     dominates the cost of the compile, so it is only enabled when the
+   *     scanner looks at types.
+   */
+  @VisibleForTesting
+  static CompilerOptions getCompilerOptions(boolean checkTypes) {
     CompilerOptions options = new CompilerOptions();
 
     DependencyOptions deps = new DependencyOptions();
@@ -88,7 +98,7 @@ public final class RefactoringDriver {
     options.setIdeMode(true);
     options.setCheckSuspiciousCode(true);
     options.setCheckSymbols(true);
-    options.setCheckTypes(true);
+    options.setCheckTypes(checkTypes);
     options.setClosurePass(true);
     options.setPreserveGoogRequires(true);
 
@@ -108,7 +118,7 @@ public final class RefactoringDriver {
     private final Scanner scanner;
     private final ImmutableList.Builder<SourceFile> inputs = ImmutableList.builder();
     private final ImmutableList.Builder<SourceFile> externs = ImmutableList.builder();
-    private CompilerOptions compilerOptions = getCompilerOptions();
+    private CompilerOptions compilerOptions = null;
 
     public Builder(Scanner scanner) {
       this.scanner = scanner;
@@ -160,7 +170,9 @@ public final class RefactoringDriver {
     }
 
     public RefactoringDriver build() {
-      return new RefactoringDriver(scanner, inputs.build(), externs.build(), compilerOptions);
+      CompilerOptions options = compilerOptions != null
+          ? compilerOptions : getCompilerOptions(scanner.needsTypes());
+      return new RefactoringDriver(scanner, inputs.build(), externs.build(), options);
     }
   }
 }
@@ -54,6 +54,13 @@ public final class RefasterJsScanner extends Scanner {
   /** All templates that were found in the template file. */
   private ImmutableList<RefasterJsTemplate> templates;
 
+  /**
+   * The templates that may match a node of a given token type, in the same
+   * order as {@link #templates}. Filled lazily as token types are seen.
+   */
+  private final Map<Integer, ImmutableList<RefasterJsTemplate>> templatesByNodeType =
+      new HashMap<>();
+
   /** The RefasterJsTemplate that matched the last Match. */
   private RefasterJsTemplate matchedTemplate;
 
@@ -91,7 +98,9 @@ public final class RefasterJsScanner extends Scanner {
       }
     }
     matchedTemplate = null;
-    for (RefasterJsTemplate template : templates) {
+    List<RefasterJsTemplate> candidates = getTemplatesForNodeType(node.getType());
+    for (int i = 0; i < candidates.size(); i++) {
+      RefasterJsTemplate template = candidates.get(i);
       if (template.matcher.matches(node, metadata)) {
         matchedTemplate = template;
         return true;
@@ -100,6 +109,21 @@ public final class RefasterJsScanner extends Scanner {
     return false;
   }
 
+  private List<RefasterJsTemplate> getTemplatesForNodeType(int type) {
+    ImmutableList<RefasterJsTemplate> candidates = templatesByNodeType.get(type);
+    if (candidates == null) {
+      ImmutableList.Builder<RefasterJsTemplate> builder = ImmutableList.builder();
+      for (RefasterJsTemplate template : templates) {
+        if (template.matcher.mayMatchNodeType(type)) {
+          builder.add(template);
+        }
+      }
+      candidates = builder.build();
+      templatesByNodeType.put(type, candidates);
+    }
+    return candidates;
+  }
+
   @Override public List<SuggestedFix> processMatch(Match match) {
     SuggestedFix.Builder fix = new SuggestedFix.Builder();
     Node newNode = transformNode(
@@ -217,6 +241,7 @@ public final class RefasterJsScanner extends Scanner {
           beforeTemplates.get(templateName), afterTemplates.get(templateName)));
     }
     this.templates = builder.build();
+    this.templatesByNodeType.clear();
   }
 
   /** Class that holds the before and after templates for a given RefasterJs refactoring. */
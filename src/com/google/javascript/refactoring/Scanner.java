@@ -42,6 +42,15 @@ public abstract class Scanner implements Serializable {
    */
   public abstract boolean matches(Node node, NodeMetadata t);
 
+  /**
+   * Returns whether this scanner inspects type information. Scanners that only
+   * look at the shape of the AST can return false so that the
+   * {@link RefactoringDriver} skips type checking the inputs.
+   */
+  public boolean needsTypes() {
+    return true;
+  }
+
   /**
    * Processes one {@link Match} at a time. There is no order guaranteed for
    * when this function will be called with the Match.
@@ -1120,7 +1120,8 @@ public class JSTypeRegistry implements TypeIRegistry, Serializable {
   /**
    * Flushes out the current resolved and unresolved Named Types from
    * the type registry.  This is intended to be used ONLY before a
-   * compile is run.
+   * compile is run, or once type checking is done and the scopes the
+   * named types were resolved in are no longer needed.
    */
   public void clearNamedTypes() {
     resolvedNamedTypes.clear();
@@ -18,11 +18,13 @@ package com.google.debugging.sourcemap;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 
 import junit.framework.TestCase;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -48,6 +50,131 @@ public final class SourceMapConsumerV3Test extends TestCase {
     assertThat(consumer.getSourceRoot()).isNull();
   }
 
+  public void testMappingForLine() throws Exception{
+    String sourceMap =  "{\n" +
+                        "\"version\":3,\n" +
+                        "\"file\":\"testcode\",\n" +
+                        "\"mappings\":\"AAAAA,QAASA,UAAS,EAAG;;\",\n" +
+                        "\"sources\":[\"testcode\"],\n" +
+                        "\"names\":[\"__BASIC__\"]\n" +
+                        "}\n";
+
+    SourceMapConsumerV3 consumer = new SourceMapConsumerV3();
+    consumer.parse(sourceMap);
+
+    OriginalMapping mapping = consumer.getMappingForLine(1, 1);
+    assertThat(mapping.getOriginalFile()).isEqualTo("testcode");
+    assertThat(mapping.getLineNumber()).isEqualTo(1);
+    assertThat(mapping.getColumnPosition()).isEqualTo(1);
+    assertThat(mapping.getIdentifier()).isEqualTo("__BASIC__");
+
+    mapping = consumer.getMappingForLine(1, 10);
+    assertThat(mapping.getColumnPosition()).isEqualTo(10);
+    assertThat(mapping.getIdentifier()).isEqualTo("__BASIC__");
+
+    mapping = consumer.getMappingForLine(1, 20);
+    assertThat(mapping.getColumnPosition()).isEqualTo(19);
+    assertThat(mapping.hasIdentifier()).isFalse();
+
+    // The second line is empty, so the last mapping of the first line applies.
+    mapping = consumer.getMappingForLine(2, 5);
+    assertThat(mapping.getColumnPosition()).isEqualTo(22);
+
+    assertThat(consumer.getMappingForLine(3, 1)).isNull();
+  }
+
+  public void testMappingForLineOutOfOrder() throws Exception {
+    // The relative source, line, column and name values carry over from one
+    // line to the next, so each line must decode the same regardless of the
+    // order in which the lines are requested.
+    String sourceMap =  "{\n" +
+                        "\"version\":3,\n" +
+                        "\"file\":\"testcode\",\n" +
+                        "\"mappings\":\"AAAAA,IAAIC;;ACEAD;EAAE\",\n" +
+                        "\"sources\":[\"a.js\",\"b.js\"],\n" +
+                        "\"names\":[\"x\",\"y\"]\n" +
+                        "}\n";
+
+    SourceMapConsumerV3 consumer = new SourceMapConsumerV3();
+    consumer.parse(sourceMap);
+
+    OriginalMapping mapping = consumer.getMappingForLine(4, 3);
+    assertThat(mapping.getOriginalFile()).isEqualTo("b.js");
+    assertThat(mapping.getLineNumber()).isEqualTo(3);
+    assertThat(mapping.getColumnPosition()).isEqualTo(7);
+    assertThat(mapping.hasIdentifier()).isFalse();
+
+    mapping = consumer.getMappingForLine(3, 1);
+    assertThat(mapping.getOriginalFile()).isEqualTo("b.js");
+    assertThat(mapping.getLineNumber()).isEqualTo(3);
+    assertThat(mapping.getColumnPosition()).isEqualTo(5);
+    assertThat(mapping.getIdentifier()).isEqualTo("x");
+
+    mapping = consumer.getMappingForLine(1, 5);
+    assertThat(mapping.getOriginalFile()).isEqualTo("a.js");
+    assertThat(mapping.getColumnPosition()).isEqualTo(5);
+    assertThat(mapping.getIdentifier()).isEqualTo("y");
+
+    // Empty lines and columns before the first entry of a line use the last
+    // mapping of the previous non-empty line.
+    assertThat(consumer.getMappingForLine(2, 1)).isEqualTo(mapping);
+    assertThat(consumer.getMappingForLine(4, 1))
+        .isEqualTo(consumer.getMappingForLine(3, 1));
+
+    assertThat(consumer.getMappingForLine(5, 1)).isNull();
+    assertThat(consumer.getReverseMapping("b.js", 2, 1)).hasSize(2);
+  }
+
+  public void testMappingsForLines() throws Exception {
+    String sourceMap =  "{\n" +
+                        "\"version\":3,\n" +
+                        "\"file\":\"testcode\",\n" +
+                        "\"mappings\":\"AAAAA,IAAIC;;ACEAD;EAAE\",\n" +
+                        "\"sources\":[\"a.js\",\"b.js\"],\n" +
+                        "\"names\":[\"x\",\"y\"]\n" +
+                        "}\n";
+
+    SourceMapConsumerV3 consumer = new SourceMapConsumerV3();
+    consumer.parse(sourceMap);
+
+    int[] lines = {4, 1, 5, 3, 2, 1, 4};
+    int[] columns = {3, 5, 1, 1, 1, 1, 1};
+    List<OriginalMapping> mappings = consumer.getMappingsForLines(lines, columns);
+    assertThat(mappings).hasSize(lines.length);
+    for (int i = 0; i < lines.length; i++) {
+      assertEquals(consumer.getMappingForLine(lines[i], columns[i]),
+          mappings.get(i));
+    }
+    assertThat(mappings.get(0).getOriginalFile()).isEqualTo("b.js");
+    assertThat(mappings.get(2)).isNull();
+  }
+
+  public void testReverseMapping() throws Exception {
+    String sourceMap =  "{\n" +
+                        "\"version\":3,\n" +
+                        "\"file\":\"testcode\",\n" +
+                        "\"mappings\":\"AAAAA,IAAIC;;ACEAD;EAAE\",\n" +
+                        "\"sources\":[\"a.js\",\"b.js\"],\n" +
+                        "\"names\":[\"x\",\"y\"]\n" +
+                        "}\n";
+
+    SourceMapConsumerV3 consumer = new SourceMapConsumerV3();
+    consumer.parse(sourceMap);
+
+    assertThat(consumer.getReverseMapping("a.js", 0, 1)).containsExactly(
+        OriginalMapping.newBuilder().setLineNumber(0).setColumnPosition(0)
+            .build(),
+        OriginalMapping.newBuilder().setLineNumber(0).setColumnPosition(4)
+            .build()).inOrder();
+    assertThat(consumer.getReverseMapping("b.js", 2, 1)).containsExactly(
+        OriginalMapping.newBuilder().setLineNumber(2).setColumnPosition(0)
+            .build(),
+        OriginalMapping.newBuilder().setLineNumber(3).setColumnPosition(2)
+            .build()).inOrder();
+    assertThat(consumer.getReverseMapping("a.js", 2, 1)).isEmpty();
+    assertThat(consumer.getReverseMapping("c.js", 0, 1)).isEmpty();
+  }
+
   public void testMap() throws Exception{
     String sourceMap = ""
         + "{"
@@ -71,7 +198,90 @@ public final class SourceMapConsumerV3Test extends TestCase {
 
     SourceMapConsumerV3 consumer = new SourceMapConsumerV3();
     consumer.parse(sourceMap);
+  }
 
+  public void testMapSectionFromUrl() throws Exception {
+    String inlineSourceMap = ""
+        + "{"
+        + "  \"version\": 3,"
+        + "  \"file\": \"testcode.js\","
+        + "  \"sections\": ["
+        + "    {"
+        + "      \"map\": {"
+        + "         \"version\": 3,"
+        + "         \"mappings\": \"AAAAA,QAASA,UAAS,EAAG;\","
+        + "         \"sources\": [\"testcode.js\"],"
+        + "         \"names\": [\"foo\"]"
+        + "      },"
+        + "      \"offset\": {"
+        + "        \"line\": 1,"
+        + "        \"column\": 1"
+        + "      }"
+        + "    }"
+        + "  ]"
+        + "}";
+    SourceMapConsumerV3 consumer = new SourceMapConsumerV3();
+    consumer.parse(inlineSourceMap);
+
+    // The same section supplied by url must produce the same mappings.
+    final String sectionMap = ""
+        + "{"
+        + "  \"version\": 3,"
+        + "  \"mappings\": \"AAAAA,QAASA,UAAS,EAAG;\","
+        + "  \"sources\": [\"testcode.js\"],"
+        + "  \"names\": [\"foo\"]"
+        + "}";
+    String urlSourceMap = ""
+        + "{"
+        + "  \"version\": 3,"
+        + "  \"file\": \"testcode.js\","
+        + "  \"sections\": ["
+        + "    {"
+        + "      \"url\": \"section.js.map\","
+        + "      \"offset\": {"
+        + "        \"line\": 1,"
+        + "        \"column\": 1"
+        + "      }"
+        + "    }"
+        + "  ]"
+        + "}";
+    SourceMapConsumerV3 urlConsumer = new SourceMapConsumerV3();
+    urlConsumer.parse(urlSourceMap, new SourceMapSupplier() {
+      @Override
+      public String getSourceMap(String url) {
+        return url.equals("section.js.map") ? sectionMap : null;
+      }
+    });
+
+    for (int column = 1; column < 25; column++) {
+      assertThat(consumer.getMappingForLine(2, column))
+          .isEqualTo(urlConsumer.getMappingForLine(2, column));
+    }
+    assertThat(consumer.getMappingForLine(2, 10)).isNotNull();
+  }
+
+  public void testMapWithNonObjectSection() throws Exception {
+    String sourceMap = ""
+        + "{"
+        + "  \"version\": 3,"
+        + "  \"file\": \"testcode.js\","
+        + "  \"sections\": ["
+        + "    {"
+        + "      \"map\": \"not a map\","
+        + "      \"offset\": {"
+        + "        \"line\": 0,"
+        + "        \"column\": 0"
+        + "      }"
+        + "    }"
+        + "  ]"
+        + "}";
+
+    SourceMapConsumerV3 consumer = new SourceMapConsumerV3();
+    try {
+      consumer.parse(sourceMap);
+      fail();
+    } catch (SourceMapParseException expected) {
+    }
   }
 
   public void testSourcesWithRoot() throws Exception{
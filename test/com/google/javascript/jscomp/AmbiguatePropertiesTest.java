@@ -165,6 +165,46 @@ public final class AmbiguatePropertiesTest extends CompilerTestCase {
     test(js, output);
   }
 
+  public void testSameReceiverTypeForTwoProperties() {
+    // The related types of a receiver type are computed once and shared by
+    // every property referenced on it, including when the type prevents
+    // renaming.
+    String js = ""
+        + "/** @constructor */ var Foo = function(){};\n"
+        + "/** @constructor */ var Bar = function(){};\n"
+        + "Foo.prototype.foodoo=0;\n"
+        + "Bar.prototype.bardoo=0;\n"
+        + "/** @type {Foo|Bar} */\n"
+        + "var U;\n"
+        + "U.j1;"
+        + "U.j2;"
+        + "U.j1;"
+        + "/** @type {Foo|Object} */\n"
+        + "var W;\n"
+        + "W.k1;"
+        + "W.k2;"
+        + "/** @type {Foo} */\n"
+        + "var F;\n"
+        + "F.k2;"
+        + "F.foodoo";
+    String output = ""
+        + "var Foo = function(){};\n"
+        + "var Bar = function(){};\n"
+        + "Foo.prototype.a=0;\n"
+        + "Bar.prototype.a=0;\n"
+        + "var U;\n"
+        + "U.b;"
+        + "U.c;"
+        + "U.b;"
+        + "var W;\n"
+        + "W.k1;"
+        + "W.k2;"
+        + "var F;\n"
+        + "F.k2;"
+        + "F.a";
+    test(js, output);
+  }
+
   public void testUnions() {
     String js = ""
         + "/** @constructor */ var Foo = function(){};\n"
@@ -247,6 +247,38 @@ public final class CheckConformanceTest extends CompilerTestCase {
     testSame(ImmutableList.of(SourceFile.fromCode("bar.js", "eval()")));
   }
 
+  public void testOnlyApplyToIsCheckedPerFile() {
+    configuration =
+        "requirement: {\n" +
+        "  type: BANNED_NAME\n" +
+        "  value: 'eval'\n" +
+        "  error_message: 'eval is not allowed'\n" +
+        "  only_apply_to: 'foo.js'\n " +
+        "}";
+    ImmutableList<SourceFile> input = ImmutableList.of(
+        SourceFile.fromCode("foo.js", "eval()"),
+        SourceFile.fromCode("bar.js", "eval()"));
+    test(input, input, null, CheckConformance.CONFORMANCE_VIOLATION,
+        "Violation: eval is not allowed");
+  }
+
+  public void testBannedQualifiedName() {
+    configuration =
+        "requirement: {\n" +
+        "  type: BANNED_NAME\n" +
+        "  value: 'goog.dom.foo'\n" +
+        "  value: 'foo'\n" +
+        "  value: 'goog.bar'\n" +
+        "  error_message: 'foo is not allowed'\n" +
+        "}";
+
+    testSame("goog.dom.foo()", CheckConformance.CONFORMANCE_VIOLATION);
+    testSame("goog.bar()", CheckConformance.CONFORMANCE_VIOLATION);
+    testSame("foo()", CheckConformance.CONFORMANCE_VIOLATION);
+    testSame("goog.foo()");
+    testSame("goog.dom.bar()");
+  }
+
   public void testFileOnOnlyApplyToRegexpIsChecked() {
     configuration =
         "requirement: {\n" +
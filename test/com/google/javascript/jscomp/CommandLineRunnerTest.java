@@ -165,6 +165,19 @@ public final class CommandLineRunnerTest extends TestCase {
     test("function f() { this.a = 3; }", CheckGlobalThis.GLOBAL_THIS);
   }
 
+  public void testStreamErrorsMaxRetained() {
+    args.add("--stream_errors_max_retained=0");
+    args.add("--jscomp_warning=globalThis");
+    Compiler compiler = compile(new String[] {
+        "function f() { this.a = 3; }\nfunction g() { this.b = 3; }"});
+    assertThat(compiler.getErrorManager())
+        .isInstanceOf(StreamingErrorManager.class);
+    assertEquals(2, compiler.getWarningCount());
+    assertThat(compiler.getWarnings()).isEmpty();
+    assertThat(new String(errReader.toByteArray(), UTF_8))
+        .contains("0 error(s), 2 warning(s)");
+  }
+
   public void testWarningGuardWildcard1() {
     args.add("--jscomp_warning=*");
     test("function f() { this.a = 3; }", CheckGlobalThis.GLOBAL_THIS);
@@ -780,6 +793,38 @@ public final class CommandLineRunnerTest extends TestCase {
          });
   }
 
+  public void testSourcePruningOnWithEs6Modules() {
+    // The pruned input is never parsed, so its syntax error isn't reported.
+    args.add("--closure_entry_point=guinness");
+    args.add("--language_in=ECMASCRIPT6");
+    args.add("--language_out=ECMASCRIPT5");
+    test(new String[] {
+          "goog.provide('guinness');\ngoog.require('beer');",
+          "goog.provide('beer');",
+          "goog.provide('scotch'); var x = ;"
+         },
+         new String[] {
+           "var beer = {};",
+           "var guinness = {};"
+         });
+  }
+
+  public void testOnlyClosureDependenciesDoesNotParsePrunedNonExterns() {
+    // The pruned input can't be an externs file, so it is never parsed and
+    // its syntax error isn't reported.
+    args.add("--only_closure_dependencies");
+    args.add("--closure_entry_point=guinness");
+    test(new String[] {
+          "goog.provide('guinness');\ngoog.require('beer');",
+          "goog.provide('beer');",
+          "var x = ;"
+         },
+         new String[] {
+           "var beer = {};",
+           "var guinness = {};"
+         });
+  }
+
   public void testSourcePruningOn5() {
     args.add("--closure_entry_point=shiraz");
     test(new String[] {
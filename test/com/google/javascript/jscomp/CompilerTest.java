@@ -330,6 +330,51 @@ public final class CompilerTest extends TestCase {
     assertEquals(expected, outputSource);
   }
 
+  public void testCoverageSameLineStatements() {
+    final String original =
+        "function f() {\n" +
+        " var a = 1; var b = 2;\n" +
+        " if (a) { b = 3; }\n" +
+        "}\n" +
+        "window['f'] = f;\n" +
+        "window['g'] = function() { return 1; };\n";
+    final String expected =
+        "var JSCompiler_lcov_fileNames=JSCompiler_lcov_fileNames||[];" +
+        "var JSCompiler_lcov_instrumentedLines=" +
+            "JSCompiler_lcov_instrumentedLines||[];" +
+        "var JSCompiler_lcov_executedLines=JSCompiler_lcov_executedLines||[];" +
+        "var JSCompiler_lcov_data_test_js=[];" +
+        "JSCompiler_lcov_executedLines.push(JSCompiler_lcov_data_test_js);" +
+        "JSCompiler_lcov_instrumentedLines.push(\"26\");" +
+        "JSCompiler_lcov_fileNames.push(\"test.js\");\n" +
+        "function f(){" +
+        "JSCompiler_lcov_data_test_js[1]=true;" +
+        "var a=1;" +
+        "var b=2;" +
+        "JSCompiler_lcov_data_test_js[2]=true;" +
+        "if(a){" +
+        "JSCompiler_lcov_data_test_js[2]=true;" +
+        "b=3" +
+        "}" +
+        "}" +
+        "window[\"f\"]=f;" +
+        "window[\"g\"]=function(){" +
+        "JSCompiler_lcov_data_test_js[5]=true;" +
+        "return 1" +
+        "};";
+
+    Compiler compiler = new Compiler();
+    CompilerOptions options = new CompilerOptions();
+    options.setInstrumentForCoverage(true);
+
+    compiler.compile(
+        SourceFile.fromCode("extern.js", "var window;"),
+        SourceFile.fromCode("test.js", original), options);
+    assertEquals(0, compiler.getWarningCount());
+    assertEquals(0, compiler.getErrorCount());
+    assertEquals(expected, compiler.toSource());
+  }
+
   /**
    * Make sure the non-standard JSDoc diagnostic group gives out an error
    * when it is set to check level error.
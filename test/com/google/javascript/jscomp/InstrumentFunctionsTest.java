@@ -192,6 +192,15 @@ public final class InstrumentFunctionsTest extends CompilerTestCase {
          "function a(){if (2 != 3){return $$testExit(0)}$$testExit(0)}");
   }
 
+  public void testExitFinalReturn() {
+    this.instrumentationPb = "report_exit: \"$$testExit\"";
+    test("function a(){if (2 != 3) {b()} return 1}",
+         "function a(){if (2 != 3){b()}return $$testExit(0, 1)}");
+
+    test("function a(){for(;;){if (b()) break} return}",
+         "function a(){for(;;){if (b()) break}return $$testExit(0)}");
+  }
+
   public void testExitTry() {
     this.instrumentationPb = "report_exit: \"$$testExit\"";
     test("function a(){try{return}catch(err){}}",
@@ -36,6 +36,8 @@ public final class SourceMapTest extends SourceMapTestCase {
   }
 
   private List<SourceMap.LocationMapping> mappings;
+  private int lineLengthThreshold;
+  private boolean preferLineBreakAtEndOfFile;
 
   public void testPrefixReplacement1() throws IOException {
     // mapping can be used to remove a prefix
@@ -91,18 +93,46 @@ public final class SourceMapTest extends SourceMapTestCase {
         "}\n");
   }
 
+  public void testLineCuts() {
+    // Mappings that start, end or span the cut lines must all be moved.
+    lineLengthThreshold = 20;
+    compileAndCheck(
+        "function __f1__(__p1__) {\n"
+        + "  var __v1__ = __p1__ + 1;\n"
+        + "  __g1__(__v1__, function __f2__(__p2__) { return __p2__ + __v1__; });\n"
+        + "}\n"
+        + "var __v2__ = __f1__(__v3__, __v4__) + __f1__(__v5__);\n"
+        + "__g1__(__v2__);\n");
+  }
+
+  public void testLineCutsWithLineBreakAtEndOfFile() {
+    // The last line cut is undone to move the break to the end of the file.
+    lineLengthThreshold = 40;
+    preferLineBreakAtEndOfFile = true;
+    compileAndCheck(
+        "var __v1__ = __f1__(__v2__);\n"
+        + "var __v3__ = __f1__(__v4__, __v5__);\n"
+        + "__g1__(__v1__, __v3__);\n");
+  }
+
   @Override
   protected CompilerOptions getCompilerOptions() {
     CompilerOptions options = super.getCompilerOptions();
     if (mappings != null) {
       options.sourceMapLocationMappings = mappings;
     }
+    if (lineLengthThreshold > 0) {
+      options.setLineLengthThreshold(lineLengthThreshold);
+    }
+    options.setPreferLineBreakAtEndOfFile(preferLineBreakAtEndOfFile);
     return options;
   }
 
   @Override
   public void setUp() {
     super.setUp();
+    lineLengthThreshold = 0;
+    preferLineBreakAtEndOfFile = false;
   }
 
   private void checkSourceMap2(
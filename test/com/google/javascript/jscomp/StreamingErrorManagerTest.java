@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+/**
+ * Tests {@link StreamingErrorManager}.
+ */
+public final class StreamingErrorManagerTest extends TestCase {
+  private static final DiagnosticType FOO_TYPE =
+      DiagnosticType.warning("TEST_FOO", "Foo");
+
+  private ByteArrayOutputStream output;
+  private StreamingErrorManager manager;
+
+  @Override
+  protected void setUp() throws Exception {
+    output = new ByteArrayOutputStream();
+    manager = new StreamingErrorManager(
+        new PrintStream(output, true, "UTF-8"), 2);
+  }
+
+  public void testMessagesPrintedWhenReported() throws Exception {
+    manager.report(CheckLevel.WARNING, JSError.make("b.js", 1, 1, FOO_TYPE));
+    assertThat(output()).contains("b.js:1: WARNING - Foo");
+
+    manager.report(CheckLevel.ERROR, JSError.make("a.js", 1, 1, FOO_TYPE));
+    assertThat(output()).contains("a.js:1: ERROR - Foo");
+    // Reported order is kept.
+    assertThat(output().indexOf("b.js")).isLessThan(output().indexOf("a.js"));
+
+    manager.generateReport();
+    assertThat(output()).endsWith("1 error(s), 1 warning(s)\n");
+  }
+
+  public void testRetainedUpToLimit() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      manager.report(CheckLevel.WARNING, JSError.make("a.js", i, 1, FOO_TYPE));
+      manager.report(CheckLevel.ERROR, JSError.make("b.js", i, 1, FOO_TYPE));
+    }
+
+    assertEquals(5, manager.getWarningCount());
+    assertEquals(5, manager.getErrorCount());
+    assertThat(manager.getWarnings()).hasLength(2);
+    assertThat(manager.getErrors()).hasLength(2);
+    for (JSError error : manager.getErrors()) {
+      assertEquals("b.js", error.sourceName);
+    }
+  }
+
+  public void testRetainedSampleIsDeterministic() throws Exception {
+    StreamingErrorManager other = new StreamingErrorManager(
+        new PrintStream(new ByteArrayOutputStream(), true, "UTF-8"), 2);
+    for (int i = 0; i < 100; i++) {
+      JSError warning = JSError.make("a.js", i, 1, FOO_TYPE);
+      manager.report(CheckLevel.WARNING, warning);
+      other.report(CheckLevel.WARNING, warning);
+    }
+
+    assertThat(manager.getWarnings()).isEqualTo(other.getWarnings());
+    // The sample is taken from all the warnings, not just the first ones.
+    assertThat(manager.getWarnings()[0].lineNumber
+        + manager.getWarnings()[1].lineNumber).isGreaterThan(1);
+  }
+
+  public void testDuplicatesReportedOnce() throws Exception {
+    manager.report(CheckLevel.WARNING, JSError.make("a.js", 1, 1, FOO_TYPE));
+    manager.report(CheckLevel.WARNING, JSError.make("a.js", 1, 1, FOO_TYPE));
+    manager.report(CheckLevel.WARNING, JSError.make("a.js", 2, 1, FOO_TYPE));
+
+    assertEquals(2, manager.getWarningCount());
+    assertThat(output()).isEqualTo(
+        "a.js:1: WARNING - Foo\n\na.js:2: WARNING - Foo\n\n");
+  }
+
+  public void testSummaryDetailLevel() throws Exception {
+    manager.setTypedPercent(50.0);
+    manager.generateReport();
+    assertThat(output()).isEmpty();
+
+    manager.setSummaryDetailLevel(2);
+    manager.generateReport();
+    assertThat(output()).isEqualTo("0 error(s), 0 warning(s), 50.0% typed\n");
+  }
+
+  private String output() {
+    return new String(output.toByteArray(), UTF_8);
+  }
+}
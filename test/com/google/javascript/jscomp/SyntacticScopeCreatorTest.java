@@ -16,6 +16,7 @@
 
 package com.google.javascript.jscomp;
 
+import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 
@@ -69,6 +70,18 @@ public final class SyntacticScopeCreatorTest extends TestCase {
     assertFalse(scope.isDeclared("", false));
   }
 
+  public void testDuplicateDeclarationLeavesScopeUnchanged() {
+    Scope scope = getScope("var x;");
+    Var x = scope.getVar("x");
+    try {
+      scope.declare("x", IR.name("x"), null);
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+    assertSame(x, scope.getVar("x"));
+    assertEquals(1, scope.getVarCount());
+  }
+
   public void testNestedFunctionScope() {
     Node root = getRoot("function f(x) { function g(y) {} }");
     Scope globalScope = scopeCreator.createScope(root, null);
@@ -18,6 +18,7 @@ package com.google.javascript.jscomp;
 
 import com.google.common.collect.ImmutableList;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
 
 import junit.framework.TestCase;
 
@@ -498,6 +499,31 @@ public final class TemplateAstMatcherTest extends TestCase {
         TypeMatchingStrategy.EXACT);
   }
 
+  public void testMayMatchNodeType() {
+    String template = ""
+        + "function template() {\n"
+        + "  obj.foo();\n"
+        + "}\n";
+    TestNodePair pair = compile("", template, "obj.foo();");
+    TemplateAstMatcher matcher =
+        new TemplateAstMatcher(lastCompiler, pair.templateNode.getFirstChild());
+    assertTrue(matcher.mayMatchNodeType(Token.CALL));
+    assertFalse(matcher.mayMatchNodeType(Token.GETPROP));
+    assertFalse(matcher.mayMatchNodeType(Token.NAME));
+
+    template = ""
+        + "/**\n"
+        + " * @param {string} foo\n"
+        + " */\n"
+        + "function template(foo) {\n"
+        + "  foo;\n"
+        + "}\n";
+    pair = compile("", template, "'str'");
+    matcher = new TemplateAstMatcher(lastCompiler, pair.templateNode.getFirstChild());
+    assertTrue(matcher.mayMatchNodeType(Token.STRING));
+    assertTrue(matcher.mayMatchNodeType(Token.CALL));
+  }
+
   private void assertMatch(Node templateRoot, Node testNode, boolean shouldMatch) {
     assertMatch(templateRoot, testNode, shouldMatch, TypeMatchingStrategy.DEFAULT);
   }
@@ -514,6 +540,9 @@ public final class TemplateAstMatcherTest extends TestCase {
     sb.append("Template node:\n").append(templateRoot.toStringTree()).append("\n");
     sb.append("Test node:\n").append(testNode.getParent().toStringTree()).append("\n");
     assertEquals(sb.toString(), shouldMatch, matcher.matches(testNode));
+    if (shouldMatch) {
+      assertTrue(matcher.mayMatchNodeType(testNode.getType()));
+    }
   }
 
   private void assertMatch(Node templateRoot, Node testNode) {
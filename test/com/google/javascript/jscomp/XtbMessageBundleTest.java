@@ -46,6 +46,8 @@ public final class XtbMessageBundleTest extends TestCase {
           + " para utilizar.<ph name=\"P_END\"/><ph name=\"P_START\"/>Esperamos"
           + " poder ampliar.<ph name=\"P_END\"/></translation>\n"
           + "<translation id=\"3945720239421293834\"></translation>\n"
+          + "<translation id=\"1001\">a &amp; b\n&lt;c&gt;"
+          + "<ph name=\"NUM\"/>d &quot;e&quot;</translation>\n"
           + "</translationbundle>";
 
   public void test() {
@@ -69,5 +71,10 @@ public final class XtbMessageBundleTest extends TestCase {
     message = bundle.getMessage("3945720239421293834");
     assertThat(message.toString()).isEmpty();
     assertThat(message.parts()).isNotEmpty();
+
+    // Text split by entity references and line breaks is kept as one part.
+    message = bundle.getMessage("1001");
+    assertEquals("a & b\n<c>{$num}d \"e\"", message.toString());
+    assertThat(message.parts()).hasSize(3);
   }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.deps;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.BasicErrorManager;
+import com.google.javascript.jscomp.CheckLevel;
+import com.google.javascript.jscomp.ErrorManager;
+import com.google.javascript.jscomp.JSError;
+import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.jscomp.deps.DepsGenerator.InclusionStrategy;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link DepsGenerator}.
+ */
+public final class DepsGeneratorTest extends TestCase {
+
+  private final List<JSError> reported = new ArrayList<>();
+
+  private final BasicErrorManager errorManager = new BasicErrorManager() {
+    @Override
+    public void println(CheckLevel level, JSError error) {
+      reported.add(error);
+    }
+
+    @Override
+    protected void printSummary() {}
+  };
+
+  public void testSources() throws Exception {
+    checkSources(1);
+  }
+
+  public void testSourcesInParallel() throws Exception {
+    checkSources(4);
+  }
+
+  private void checkSources(int threadCount) throws Exception {
+    List<SourceFile> srcs = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      String requires = i == 0 ? "" : "goog.require('ns" + (i - 1) + "');\n";
+      srcs.add(SourceFile.fromCode(
+          "/base/src" + i + ".js", "goog.provide('ns" + i + "');\n" + requires));
+    }
+
+    String output = generate(srcs, threadCount);
+
+    assertThat(output).contains("goog.addDependency('src0.js', ['ns0'], []);\n");
+    for (int i = 1; i < 20; i++) {
+      assertThat(output).contains("goog.addDependency('src" + i + ".js', "
+          + "['ns" + i + "'], ['ns" + (i - 1) + "']);\n");
+    }
+  }
+
+  public void testParseErrorsReportedInSourceOrder() throws Exception {
+    checkParseErrorsReportedInSourceOrder(1);
+  }
+
+  public void testParseErrorsReportedInSourceOrderInParallel()
+      throws Exception {
+    checkParseErrorsReportedInSourceOrder(4);
+  }
+
+  private void checkParseErrorsReportedInSourceOrder(int threadCount)
+      throws Exception {
+    List<SourceFile> srcs = ImmutableList.of(
+        SourceFile.fromCode("/base/a.js", "goog.provide(a);"),
+        SourceFile.fromCode("/base/b.js", "goog.provide('b');"),
+        SourceFile.fromCode("/base/c.js", "goog.provide(c);"));
+
+    assertNull(generate(srcs, threadCount));
+
+    errorManager.generateReport();
+    assertThat(reported).hasSize(2);
+    assertEquals("/base/a.js", reported.get(0).sourceName);
+    assertEquals("/base/c.js", reported.get(1).sourceName);
+  }
+
+  public void testScannedSourceReportsInOrderReported() {
+    final List<JSError> forwarded = new ArrayList<>();
+    ErrorManager target = new BasicErrorManager() {
+      @Override
+      public void report(CheckLevel level, JSError error) {
+        forwarded.add(error);
+        super.report(level, error);
+      }
+
+      @Override
+      public void println(CheckLevel level, JSError error) {}
+
+      @Override
+      protected void printSummary() {}
+    };
+
+    JSError late = JSError.make(
+        "/base/a.js", 5, 0, JsFileLineParser.PARSE_ERROR, "late", "");
+    JSError early = JSError.make(
+        "/base/a.js", 1, 0, JsFileLineParser.PARSE_WARNING, "early", "");
+    DepsGenerator.ScannedSource scanned = new DepsGenerator.ScannedSource();
+    scanned.report(CheckLevel.ERROR, late);
+    scanned.report(CheckLevel.WARNING, early);
+    scanned.report(CheckLevel.ERROR, late);
+    assertEquals(2, scanned.getErrorCount());
+    assertEquals(1, scanned.getWarningCount());
+
+    scanned.reportTo(target);
+    assertThat(forwarded).containsExactly(late, early, late).inOrder();
+  }
+
+  private String generate(List<SourceFile> srcs, int threadCount)
+      throws Exception {
+    DepsGenerator generator = new DepsGenerator(
+        ImmutableList.<SourceFile>of(),
+        srcs,
+        InclusionStrategy.ALWAYS,
+        "/base",
+        errorManager);
+    generator.setThreadCount(threadCount);
+    return generator.computeDependencyCalls();
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.javascript.rhino.Node;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link RefactoringDriver}.
+ */
+@RunWith(JUnit4.class)
+public class RefactoringDriverTest {
+
+  @Test
+  public void testCompilerOptions() {
+    assertTrue(RefactoringDriver.getCompilerOptions().checkTypes);
+    assertTrue(RefactoringDriver.getCompilerOptions(true).checkTypes);
+    assertFalse(RefactoringDriver.getCompilerOptions(false).checkTypes);
+  }
+
+  @Test
+  public void testScannerWithTypes() {
+    NameScanner scanner = new NameScanner(true);
+    new RefactoringDriver.Builder(scanner)
+        .addInputsFromCode("var x = 1; x;")
+        .build()
+        .drive();
+    assertEquals(2, scanner.names.size());
+    assertNotNull(scanner.names.get(1).getJSType());
+  }
+
+  @Test
+  public void testScannerWithoutTypes() {
+    NameScanner scanner = new NameScanner(false);
+    new RefactoringDriver.Builder(scanner)
+        .addInputsFromCode("var x = 1; x;")
+        .build()
+        .drive();
+    assertEquals(2, scanner.names.size());
+    assertNull(scanner.names.get(1).getJSType());
+  }
+
+  /** Records every reference to the name "x". */
+  private static class NameScanner extends Scanner {
+    final List<Node> names = new ArrayList<>();
+    final boolean needsTypes;
+
+    NameScanner(boolean needsTypes) {
+      this.needsTypes = needsTypes;
+    }
+
+    @Override
+    public boolean matches(Node node, NodeMetadata metadata) {
+      if (node.isName() && node.getString().equals("x")) {
+        names.add(node);
+      }
+      return false;
+    }
+
+    @Override
+    public boolean needsTypes() {
+      return needsTypes;
+    }
+  }
+}